@@ -0,0 +1,100 @@
+package org.hrabosch;
+
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.store.CryptoPriceStore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic synthetic prices for benchmarks. Rows are spread evenly over symbols, each symbol gets random walk
+ * of prices with timestamps evenly spread over {@link #SPAN} from {@link #START}.
+ */
+public final class SyntheticPrices {
+
+    public static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+    public static final Duration SPAN = Duration.ofDays(31);
+    public static final String HEADER = "timestamp,symbol,price";
+
+    private static final long SEED = 42;
+    private static final double INITIAL_PRICE = 100;
+    private static final double MAX_STEP = 0.01;
+    private static final int STAGE_SIZE = 1_000_000;
+
+    private SyntheticPrices() {
+    }
+
+    public static String symbol(int index) {
+        return "S" + index;
+    }
+
+    /**
+     * Passes rows to consumer ordered by symbol and timestamp.
+     */
+    public static void forEach(long rows, int symbols, Consumer<CryptoPrice> consumer) {
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            forEachOfSymbol(rows, symbols, symbol, consumer);
+        }
+    }
+
+    public static void load(CryptoPriceStore store, long rows, int symbols) {
+        List<CryptoPrice> stage = new ArrayList<>();
+        forEach(rows, symbols, cryptoPrice -> {
+            stage.add(cryptoPrice);
+            if (stage.size() == STAGE_SIZE) {
+                store.stage(stage);
+                stage.clear();
+            }
+        });
+        store.stage(stage);
+        store.commit();
+    }
+
+    /**
+     * Writes one {@code <symbol>_values.csv} file per symbol into directory.
+     */
+    public static void writeCsv(Path directory, long rows, int symbols) throws IOException {
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(symbol(symbol) + "_values.csv"))) {
+                writer.write(HEADER);
+                writer.newLine();
+                forEachOfSymbol(rows, symbols, symbol, cryptoPrice -> writeLine(writer, cryptoPrice));
+            }
+        }
+    }
+
+    public static String toLine(CryptoPrice cryptoPrice) {
+        return cryptoPrice.getTimestamp().getTime() + "," + cryptoPrice.getSymbol() + "," + cryptoPrice.getPrice();
+    }
+
+    private static void forEachOfSymbol(long rows, int symbols, int symbol, Consumer<CryptoPrice> consumer) {
+        long count = rows / symbols + (symbol < rows % symbols ? 1 : 0);
+        long interval = Math.max(1, SPAN.toMillis() / Math.max(1, count));
+        SplittableRandom random = new SplittableRandom(SEED + symbol);
+        String name = symbol(symbol);
+        double price = INITIAL_PRICE;
+        for (long point = 0; point < count; point++) {
+            price *= 1 + random.nextDouble(-MAX_STEP, MAX_STEP);
+            consumer.accept(new CryptoPrice(new Timestamp(START.toEpochMilli() + point * interval), name, price));
+        }
+    }
+
+    private static void writeLine(BufferedWriter writer, CryptoPrice cryptoPrice) {
+        try {
+            writer.write(toLine(cryptoPrice));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
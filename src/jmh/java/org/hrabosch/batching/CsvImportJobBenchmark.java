@@ -0,0 +1,112 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.CryptoRecApplication;
+import org.hrabosch.SyntheticPrices;
+import org.hrabosch.model.BatchJobStatus;
+import org.hrabosch.repository.IngestLedgerRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * End-to-end {@code csvImportJob} on h2 profile importing synthetic CSV files. Ingest ledger is cleared before
+ * every run, so all files are imported again. Secondary {@code rows} score is number of imported rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvImportJobBenchmark {
+
+    @Param({"100000"})
+    private long rows;
+
+    @Param({"5"})
+    private int symbols;
+
+    @Param({"flatfile", "mapped"})
+    private String reader;
+
+    @Param({"false"})
+    private boolean partitioned;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private JobLauncher jobLauncher;
+    private Job job;
+    private IngestLedgerRepository ingestLedgerRepository;
+    private long run;
+
+    /**
+     * Rows imported within iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ImportedRows {
+        private long count;
+
+        public long rows() {
+            return count;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("csv-import-benchmark");
+        SyntheticPrices.writeCsv(directory, rows, symbols);
+        context = new SpringApplicationBuilder(CryptoRecApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run("--spring.batch.job.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--disableSymbols=",
+                        "--input.sourceDir=" + directory + "/",
+                        "--input.reader=" + reader,
+                        "--input.partition.enabled=" + partitioned);
+        jobLauncher = context.getBean("jobLauncher", JobLauncher.class);
+        job = context.getBean("csvImportJob", Job.class);
+        ingestLedgerRepository = context.getBean(IngestLedgerRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearLedger() {
+        ingestLedgerRepository.deleteAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public JobExecution csvImportJob(ImportedRows importedRows) throws Exception {
+        JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("benchmarkRun", ++run)
+                .toJobParameters());
+        if (execution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException("Import job ended with status " + execution.getStatus());
+        }
+        importedRows.count += BatchJobStatus.of(execution).getWriteCount();
+        return execution;
+    }
+}
@@ -0,0 +1,99 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.SyntheticPrices;
+import org.hrabosch.model.CryptoPrice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.BindException;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsing of CSV lines into prices, score is lines per second. Compares {@link CsvCryptoFieldMapper} used by
+ * flat file reader with {@link MappedCsvItemReader}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    private static final int LINES = 100_000;
+    private static final int SYMBOLS = 5;
+    private static final String[] HEADERS = SyntheticPrices.HEADER.split(",");
+
+    private final DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+    private final CsvCryptoFieldMapper fieldMapper = new CsvCryptoFieldMapper();
+    private final List<String> lines = new ArrayList<>(LINES);
+    private final List<FieldSet> fieldSets = new ArrayList<>(LINES);
+    private Path directory;
+    private FileSystemResource csvFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Field headers = ReflectionUtils.findField(CsvCryptoFieldMapper.class, "inputHeaders");
+        ReflectionUtils.makeAccessible(headers);
+        ReflectionUtils.setField(headers, fieldMapper, HEADERS);
+        tokenizer.setNames(HEADERS);
+
+        SyntheticPrices.forEach(LINES, SYMBOLS, cryptoPrice -> lines.add(SyntheticPrices.toLine(cryptoPrice)));
+        lines.forEach(line -> fieldSets.add(tokenizer.tokenize(line)));
+
+        directory = Files.createTempDirectory("csv-parsing-benchmark");
+        SyntheticPrices.writeCsv(directory, LINES, 1);
+        csvFile = new FileSystemResource(directory.resolve(SyntheticPrices.symbol(0) + "_values.csv"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile.getFile().toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void fieldSetMapper(Blackhole blackhole) throws BindException {
+        for (FieldSet fieldSet : fieldSets) {
+            blackhole.consume(fieldMapper.mapFieldSet(fieldSet));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void tokenizerAndFieldSetMapper(Blackhole blackhole) throws BindException {
+        for (String line : lines) {
+            blackhole.consume(fieldMapper.mapFieldSet(tokenizer.tokenize(line)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void mappedReader(Blackhole blackhole) throws Exception {
+        MappedCsvItemReader reader = new MappedCsvItemReader(1);
+        reader.setName("benchmarkReader");
+        reader.setResource(csvFile);
+        reader.open(new ExecutionContext());
+        try {
+            for (CryptoPrice cryptoPrice = reader.read(); cryptoPrice != null; cryptoPrice = reader.read()) {
+                blackhole.consume(cryptoPrice);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.hrabosch.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hrabosch.SyntheticPrices;
+import org.hrabosch.model.CryptoPriceComputed;
+import org.hrabosch.model.CryptoPriceStatistics;
+import org.hrabosch.store.CryptoPriceStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+/**
+ * All-symbol endpoints of {@link CryptoRecsService} served from store filled with synthetic prices. Service is
+ * created without Spring proxy, so results are not cached.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CryptoRecsServiceBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+    private static final int RANGE_DAYS = 3;
+    private static final int TOP = 10;
+
+    @Param({"10000", "1000000"})
+    private long rows;
+
+    @Param({"5", "5000"})
+    private int symbols;
+
+    @Param({"1"})
+    private int parallelism;
+
+    private SymbolFanOut symbolFanOut;
+    private CryptoRecsService cryptoRecsService;
+    private LocalDate day;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CryptoPriceStore store = new CryptoPriceStore();
+        SyntheticPrices.load(store, rows, symbols);
+        symbolFanOut = new SymbolFanOut(Executors.newFixedThreadPool(parallelism), parallelism, TIMEOUT);
+        cryptoRecsService = new CryptoRecsService(null, null, null, store, symbolFanOut,
+                new AnalyticsMetrics(new SimpleMeterRegistry()));
+        LocalDateTime middle = LocalDateTime.ofInstant(SyntheticPrices.START.plus(SyntheticPrices.SPAN.dividedBy(2)),
+                ZoneId.systemDefault());
+        day = middle.toLocalDate();
+        from = middle.minusDays(RANGE_DAYS);
+        to = middle.plusDays(RANGE_DAYS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        symbolFanOut.shutdown();
+    }
+
+    @Benchmark
+    public List<CryptoPriceComputed> getAllNormalized() {
+        return cryptoRecsService.getAllNormalized(Sort.Direction.DESC);
+    }
+
+    @Benchmark
+    public List<CryptoPriceComputed> getNormalizedTop10() {
+        return cryptoRecsService.getNormalizedPage(Sort.Direction.DESC, 0, TOP);
+    }
+
+    @Benchmark
+    public Optional<CryptoPriceComputed> getHighestNormalize() {
+        return cryptoRecsService.getHighestNormalize(day);
+    }
+
+    @Benchmark
+    public List<CryptoPriceStatistics> getStatisticsForTimeRange() {
+        return cryptoRecsService.getStatisticsForTimeRange(Optional.empty(), from, to);
+    }
+}
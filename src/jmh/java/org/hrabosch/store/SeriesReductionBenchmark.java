@@ -0,0 +1,83 @@
+package org.hrabosch.store;
+
+import org.hrabosch.SyntheticPrices;
+import org.hrabosch.service.CryptoRecsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Min/max reductions behind statistics and normalized price of single symbol: whole series, random time range
+ * served by range index, and plain scan of the same range for comparison. Vector kernel needs
+ * {@code --add-modules jdk.incubator.vector}, added by Gradle {@code -PvectorKernel}, so it is compared only on request:
+ * {@code -PvectorKernel -PjmhParams=kernel=scalar,vector}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class SeriesReductionBenchmark {
+
+    private static final int RANGES = 1024;
+
+    @Param({"10000", "1000000"})
+    private long rows;
+
+    @Param(PriceKernels.SCALAR)
+    private String kernel;
+
+    private SymbolPriceSeries series;
+    private final long[] from = new long[RANGES];
+    private final long[] to = new long[RANGES];
+    private int range;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CryptoPriceStore store = new CryptoPriceStore(PriceKernels.of(kernel));
+        SyntheticPrices.load(store, rows, 1);
+        series = store.getSeries(SyntheticPrices.symbol(0)).orElseThrow();
+        SplittableRandom random = new SplittableRandom(RANGES);
+        long start = series.getTimestamp(0);
+        long end = series.getTimestamp(series.size() - 1);
+        for (int i = 0; i < RANGES; i++) {
+            long first = random.nextLong(start, end + 1);
+            long second = random.nextLong(start, end + 1);
+            from[i] = Math.min(first, second);
+            to[i] = Math.max(first, second);
+        }
+    }
+
+    @Benchmark
+    public double normalizeWholeSeries() {
+        PriceSummary summary = series.summarize().orElseThrow();
+        return CryptoRecsService.normalize(summary.getMinPrice(), summary.getMaxPrice());
+    }
+
+    @Benchmark
+    public Optional<PriceSummary> summarizeRange() {
+        int i = nextRange();
+        return series.summarize(from[i], to[i]);
+    }
+
+    @Benchmark
+    public double scanRange() {
+        int i = nextRange();
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (int index = series.lowerBound(from[i]); index < series.upperBound(to[i]); index++) {
+            min = Math.min(min, series.getPrice(index));
+            max = Math.max(max, series.getPrice(index));
+        }
+        return max - min;
+    }
+
+    private int nextRange() {
+        range = (range + 1) & (RANGES - 1);
+        return range;
+    }
+}
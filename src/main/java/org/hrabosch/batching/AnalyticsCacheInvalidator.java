@@ -0,0 +1,33 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+/**
+ * Clears cached analytics results once import job ends, as chunks committed by failed import stay in datasource.
+ */
+@Slf4j
+public class AnalyticsCacheInvalidator implements JobExecutionListener {
+
+    private CacheManager cacheManager;
+
+    public AnalyticsCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        log.debug("Clearing analytics caches: {}", cacheManager.getCacheNames());
+        cacheManager.getCacheNames()
+                .forEach(name -> Optional.ofNullable(cacheManager.getCache(name)).ifPresent(Cache::clear));
+    }
+}
@@ -9,8 +9,7 @@ public class CryptoPriceItemProcessor implements ItemProcessor<CryptoPrice, Cryp
 
     @Override
     public CryptoPrice process(CryptoPrice item) throws Exception {
-        CryptoPrice cryptoPrice = new CryptoPrice(item.getTimestamp(), item.getSymbol(), item.getPrice());
-        log.debug("Processed crypto item line: {}", cryptoPrice);
-        return cryptoPrice;
+        log.debug("Processed crypto item line: {}", item);
+        return item;
     }
 }
@@ -0,0 +1,42 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.CryptoPrice;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes prices by JDBC batch upsert, bypassing JPA persistence context and its select before insert of every
+ * entity with assigned id. Symbols are stored as ids of symbol dictionary.
+ */
+@Slf4j
+public class CryptoPriceJdbcItemWriter implements ItemWriter<CryptoPrice> {
+
+    static final String UPSERT_SQL = "MERGE INTO crypto_price (symbol_id, timestamp, price) "
+            + "KEY (symbol_id, timestamp) VALUES (?, ?, ?)";
+
+    private static final int SYMBOL_PARAMETER = 1;
+    private static final int TIMESTAMP_PARAMETER = 2;
+    private static final int PRICE_PARAMETER = 3;
+
+    private JdbcTemplate jdbcTemplate;
+    private SymbolDictionary symbolDictionary;
+    private int batchSize;
+
+    public CryptoPriceJdbcItemWriter(JdbcTemplate jdbcTemplate, SymbolDictionary symbolDictionary, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.symbolDictionary = symbolDictionary;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(Chunk<? extends CryptoPrice> chunk) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, chunk.getItems(), batchSize, (ps, cryptoPrice) -> {
+            ps.setInt(SYMBOL_PARAMETER, symbolDictionary.idOf(cryptoPrice.getSymbol()));
+            ps.setLong(TIMESTAMP_PARAMETER, cryptoPrice.getTimestamp().getTime());
+            ps.setDouble(PRICE_PARAMETER, cryptoPrice.getPrice());
+        });
+        log.debug("Written {} crypto prices", chunk.size());
+    }
+}
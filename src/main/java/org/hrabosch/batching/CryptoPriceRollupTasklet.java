@@ -0,0 +1,95 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.store.CryptoPriceStore;
+import org.hrabosch.store.PeriodRollups;
+import org.hrabosch.store.PriceCandle;
+import org.hrabosch.store.PriceSummary;
+import org.hrabosch.store.RollupPeriod;
+import org.hrabosch.store.SymbolPriceSeries;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists daily and monthly aggregates of symbols changed by import, starting with first changed period. Rollups
+ * from that period on are deleted and inserted again by JDBC batch, so no entity is selected before its insert.
+ * Rollups of symbol removed from store are deleted from its first changed period.
+ */
+@Slf4j
+public class CryptoPriceRollupTasklet implements Tasklet {
+
+    static final String DAILY_TABLE = "crypto_price_daily_rollup";
+    static final String MONTHLY_TABLE = "crypto_price_monthly_rollup";
+
+    private static final String DELETE_SQL = "DELETE FROM %s WHERE symbol = ? AND period >= ?";
+    private static final String INSERT_SQL = "INSERT INTO %s (symbol, period, min_price, max_price, open_price, "
+            + "close_price, oldest, newest, price_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private CryptoPriceStore cryptoPriceStore;
+    private JdbcTemplate jdbcTemplate;
+
+    public CryptoPriceRollupTasklet(CryptoPriceStore cryptoPriceStore, JdbcTemplate jdbcTemplate) {
+        this.cryptoPriceStore = cryptoPriceStore;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        contribution.incrementWriteCount(persistRollups());
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Persists rollups of symbols changed since last call, returns number of updated symbols.
+     */
+    public int persistRollups() {
+        Map<String, Long> changes = cryptoPriceStore.drainChanges();
+        log.debug("Computing rollups for changed symbols: {}", changes.keySet());
+        int updated = 0;
+        for (Map.Entry<String, Long> change : changes.entrySet()) {
+            Optional<SymbolPriceSeries> series = cryptoPriceStore.getSeries(change.getKey());
+            if (series.isPresent()) {
+                persistRollups(series.get(), DAILY_TABLE, RollupPeriod.DAY, change.getValue());
+                persistRollups(series.get(), MONTHLY_TABLE, RollupPeriod.MONTH, change.getValue());
+            } else {
+                deleteRollups(change.getKey(), DAILY_TABLE, RollupPeriod.DAY, change.getValue());
+                deleteRollups(change.getKey(), MONTHLY_TABLE, RollupPeriod.MONTH, change.getValue());
+            }
+            updated++;
+        }
+        return updated;
+    }
+
+    private void deleteRollups(String symbol, String table, RollupPeriod period, long changedFrom) {
+        jdbcTemplate.update(String.format(DELETE_SQL, table), symbol, period.periodOf(changedFrom));
+    }
+
+    private void persistRollups(SymbolPriceSeries series, String table, RollupPeriod period, long changedFrom) {
+        LocalDate from = period.periodOf(changedFrom);
+        deleteRollups(series.getSymbol(), table, period, changedFrom);
+        jdbcTemplate.batchUpdate(String.format(INSERT_SQL, table), toRows(series, period, from));
+    }
+
+    private static List<Object[]> toRows(SymbolPriceSeries series, RollupPeriod period, LocalDate from) {
+        PeriodRollups rollups = series.getRollups(period);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = rollups.indexOf(from); i < rollups.size(); i++) {
+            PriceSummary summary = rollups.get(i);
+            PriceCandle candle = rollups.getCandle(i);
+            rows.add(new Object[]{series.getSymbol(), rollups.getPeriod(i), summary.getMinPrice(), summary.getMaxPrice(),
+                candle.getOpen(), candle.getClose(), new Timestamp(summary.getOldest()),
+                new Timestamp(summary.getNewest()), summary.getCount()});
+        }
+        return rows;
+    }
+}
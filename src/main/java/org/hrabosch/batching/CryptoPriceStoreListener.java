@@ -0,0 +1,61 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.store.CryptoPriceStore;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stages written prices into store once their chunk transaction commits, prices of rolled back chunks are dropped.
+ * Staged prices are published when step completes and discarded when it fails or is stopped. Partitioned import
+ * registers it as item and chunk listener of worker steps and as step listener of manager step only.
+ */
+@Slf4j
+public class CryptoPriceStoreListener implements ItemWriteListener<CryptoPrice>, ChunkListener, StepExecutionListener {
+
+    private CryptoPriceStore cryptoPriceStore;
+    private ThreadLocal<List<CryptoPrice>> written = ThreadLocal.withInitial(ArrayList::new);
+
+    public CryptoPriceStoreListener(CryptoPriceStore cryptoPriceStore) {
+        this.cryptoPriceStore = cryptoPriceStore;
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends CryptoPrice> items) {
+        written.get().addAll(items.getItems());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        cryptoPriceStore.stage(written.get());
+        written.remove();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        written.remove();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+            log.debug("Publishing imported prices to store");
+            cryptoPriceStore.commit();
+        } else {
+            log.warn("Discarding prices staged by step {} with status {}", stepExecution.getStepName(),
+                    stepExecution.getStatus());
+            cryptoPriceStore.discard();
+        }
+        return stepExecution.getExitStatus();
+    }
+}
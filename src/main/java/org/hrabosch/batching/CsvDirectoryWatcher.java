@@ -0,0 +1,270 @@
+package org.hrabosch.batching;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.IngestSpan;
+import org.hrabosch.store.CryptoPriceStore;
+import org.hrabosch.store.CryptoPriceStoreInitializer;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming ingestion of input directory. Watches directory for created or modified files, tails complete lines
+ * appended since last import and publishes them to store in micro-batches. Changes arriving within one interval
+ * are imported together. Prices imported from rewritten file are deleted before it is imported again. Malformed lines
+ * are logged and skipped, when import of file fails its chunks committed so far are recorded, so they are not
+ * imported and published again by next pass.
+ */
+@Slf4j
+public class CsvDirectoryWatcher {
+
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private IngestLedger ingestLedger;
+    private Path directory;
+    private String pattern;
+    private Duration interval = DEFAULT_INTERVAL;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private Runnable afterIngest = () -> { };
+    private ReentrantLock importLock = new ReentrantLock();
+    private ItemWriter<CryptoPrice> writer;
+    private CryptoPriceStore cryptoPriceStore;
+    private CryptoPriceRollupTasklet rollupTasklet;
+    private TransactionTemplate transactionTemplate;
+    private CryptoPriceStoreInitializer cryptoPriceStoreInitializer;
+
+    private WatchService watchService;
+
+    public CsvDirectoryWatcher(IngestLedger ingestLedger, Path directory, String pattern, ItemWriter<CryptoPrice> writer,
+                               CryptoPriceStore cryptoPriceStore, CryptoPriceRollupTasklet rollupTasklet,
+                               TransactionTemplate transactionTemplate) {
+        this.ingestLedger = ingestLedger;
+        this.directory = directory;
+        this.pattern = pattern;
+        this.writer = writer;
+        this.cryptoPriceStore = cryptoPriceStore;
+        this.rollupTasklet = rollupTasklet;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Time to wait after first change is detected, changes arriving meanwhile are imported together.
+     */
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Maximum number of prices written in one transaction.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Callback run after newly imported prices are published to store.
+     */
+    public void setAfterIngest(Runnable afterIngest) {
+        this.afterIngest = afterIngest;
+    }
+
+    /**
+     * Lock shared with import job, watched files are not ingested while job runs.
+     */
+    public void setImportLock(ReentrantLock importLock) {
+        this.importLock = importLock;
+    }
+
+    /**
+     * Deletes prices imported from rewritten files, without it rewritten files are only merged into stored prices.
+     */
+    public void setCryptoPriceStoreInitializer(CryptoPriceStoreInitializer cryptoPriceStoreInitializer) {
+        this.cryptoPriceStoreInitializer = cryptoPriceStoreInitializer;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread watchThread = new Thread(this::watch, "csv-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("Watching {} for new prices.", directory);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        ingestSafely();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(interval.toMillis());
+                key.pollEvents();
+                key.reset();
+                ingestSafely();
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.info("Stopped watching {}.", directory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ingestSafely() {
+        try {
+            ingest();
+        } catch (RuntimeException e) {
+            log.error("Cannot ingest watched files: {}{}", directory, pattern, e);
+        }
+    }
+
+    /**
+     * Imports complete lines appended to input files since last import, returns number of imported prices.
+     */
+    synchronized int ingest() {
+        importLock.lock();
+        try {
+            List<IngestRange> ranges = ingestLedger.plan(findFiles(), true);
+            List<IngestRange> imported = new ArrayList<>(ranges.size());
+            int count = 0;
+            boolean deleted = false;
+            for (IngestRange range : ranges) {
+                RangeProgress progress = new RangeProgress(range.getStart());
+                try {
+                    deleted |= deleteStalePrices(range);
+                    if (!range.isEmpty()) {
+                        importRange(range, progress);
+                    }
+                    imported.add(range);
+                } catch (Exception e) {
+                    log.error("Cannot import {}", range.toResource().getDescription(), e);
+                    if (progress.committedOffset > range.getStart()) {
+                        imported.add(ingestLedger.truncate(range, progress.committedOffset));
+                    }
+                }
+                count += progress.count;
+            }
+            cryptoPriceStore.commit();
+            if (count > 0 || deleted) {
+                transactionTemplate.executeWithoutResult(status -> rollupTasklet.persistRollups());
+                afterIngest.run();
+                log.info("Imported {} prices from watched files.", count);
+            }
+            ingestLedger.record(imported);
+            return count;
+        } catch (IOException e) {
+            log.error("Cannot scan watched files: {}{}", directory, pattern, e);
+            return 0;
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    private Resource[] findFiles() throws IOException {
+        List<Resource> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, pattern)) {
+            stream.forEach(file -> files.add(new FileSystemResource(file)));
+        }
+        return files.toArray(Resource[]::new);
+    }
+
+    private boolean deleteStalePrices(IngestRange range) {
+        List<IngestSpan> staleSpans = ingestLedger.staleSpans(range);
+        if (staleSpans.isEmpty() || cryptoPriceStoreInitializer == null) {
+            return false;
+        }
+        cryptoPriceStoreInitializer.deletePrices(staleSpans);
+        return true;
+    }
+
+    private void importRange(IngestRange range, RangeProgress progress) throws Exception {
+        MappedCsvItemReader reader = new MappedCsvItemReader(0);
+        reader.setName("watchedCryptoPriceReader");
+        reader.setResource(range.toResource());
+        reader.open(new ExecutionContext());
+        try {
+            Chunk<CryptoPrice> chunk = new Chunk<>();
+            for (CryptoPrice cryptoPrice = readValid(reader); cryptoPrice != null; cryptoPrice = readValid(reader)) {
+                chunk.add(cryptoPrice);
+                if (chunk.size() >= batchSize) {
+                    progress.commit(write(chunk), reader.getOffset());
+                    chunk = new Chunk<>();
+                }
+            }
+            progress.commit(write(chunk), reader.getOffset());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static CryptoPrice readValid(MappedCsvItemReader reader) throws Exception {
+        while (true) {
+            try {
+                return reader.read();
+            } catch (FlatFileParseException e) {
+                log.warn("Skipping malformed line of watched file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private int write(Chunk<CryptoPrice> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot write watched prices", e);
+            }
+        });
+        cryptoPriceStore.stage(chunk.getItems());
+        return chunk.size();
+    }
+
+    /**
+     * Prices of range written by committed chunks and file offset right after them.
+     */
+    private static final class RangeProgress {
+
+        private long committedOffset;
+        private int count;
+
+        private RangeProgress(long start) {
+            this.committedOffset = start;
+        }
+
+        private void commit(int written, long offset) {
+            count += written;
+            committedOffset = offset;
+        }
+    }
+}
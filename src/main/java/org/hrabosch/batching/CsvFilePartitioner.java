@@ -0,0 +1,92 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates partition per planned range of input file. Ranges bigger than their share of grid are split into
+ * byte ranges aligned to line boundaries.
+ */
+@Slf4j
+public class CsvFilePartitioner implements Partitioner {
+
+    public static final String FILE_NAME = "fileName";
+    public static final String START_OFFSET = "startOffset";
+    public static final String END_OFFSET = "endOffset";
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private List<IngestRange> ranges;
+    private long minPartitionSize;
+
+    public CsvFilePartitioner(List<IngestRange> ranges, long minPartitionSize) {
+        this.ranges = ranges;
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        long totalSize = 0;
+        for (IngestRange range : ranges) {
+            totalSize += range.getEnd() - range.getStart();
+        }
+        long partitionSize = Math.max(minPartitionSize, totalSize / Math.max(1, gridSize));
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        for (IngestRange range : ranges) {
+            if (!range.isEmpty()) {
+                addRangePartitions(partitions, range, partitionSize);
+            }
+        }
+        log.debug("Created {} partitions for {} ranges", partitions.size(), ranges.size());
+        return partitions;
+    }
+
+    private void addRangePartitions(Map<String, ExecutionContext> partitions, IngestRange range, long partitionSize) {
+        try (FileChannel channel = FileChannel.open(Path.of(range.getFileName()), StandardOpenOption.READ)) {
+            long start = range.getStart();
+            while (start < range.getEnd()) {
+                long end = partitionSize >= range.getEnd() - start
+                        ? range.getEnd()
+                        : Math.min(range.getEnd(), nextLineStart(channel, start + partitionSize));
+                ExecutionContext context = new ExecutionContext();
+                context.putString(FILE_NAME, range.getFileName());
+                context.putLong(START_OFFSET, start);
+                context.putLong(END_OFFSET, end);
+                partitions.put("partition" + partitions.size(), context);
+                start = end;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot partition CSV file: " + range.getFileName(), e);
+        }
+    }
+
+    /**
+     * Position right after first line break at or after given position, or channel size if there is none.
+     */
+    static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long current = position;
+        while (channel.read(buffer, current) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                current++;
+                if (buffer.get() == '\n') {
+                    return current;
+                }
+            }
+            buffer.clear();
+        }
+        return channel.size();
+    }
+}
@@ -0,0 +1,31 @@
+package org.hrabosch.batching;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds import lock for whole import job, so watched files are not ingested while job stages and publishes prices.
+ */
+public class ImportLockListener implements JobExecutionListener {
+
+    private ReentrantLock importLock;
+
+    public ImportLockListener(ReentrantLock importLock) {
+        this.importLock = importLock;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        importLock.lock();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        // Job stopped before it started does not call beforeJob, but still ends with afterJob.
+        if (importLock.isHeldByCurrentThread()) {
+            importLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.hrabosch.batching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hrabosch.model.CryptoPrice;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records time spent in reading, processing and writing of import step items and in whole chunks as
+ * {@code crypto.import.stage} timer and running import steps as {@code crypto.import.active} long task timer, both
+ * tagged by step and partition. Rows and bytes read per input file are published as {@code crypto.import.rows} and
+ * {@code crypto.import.bytes} counters once step finishes. Stage times and file totals of step are kept in step
+ * execution context for {@link org.hrabosch.model.ImportReport}, which takes item counts from step execution.
+ * <p>
+ * Listener holds state of one step execution, so it has to be step scoped to be used by concurrently running
+ * partition steps.
+ */
+public class ImportTelemetryListener implements ItemReadListener<CryptoPrice>, ItemProcessListener<CryptoPrice, CryptoPrice>,
+        ItemWriteListener<CryptoPrice>, ChunkListener, StepExecutionListener {
+
+    public static final String STAGE_TIMER = "crypto.import.stage";
+    public static final String ACTIVE_TIMER = "crypto.import.active";
+    public static final String ROWS_COUNTER = "crypto.import.rows";
+    public static final String BYTES_COUNTER = "crypto.import.bytes";
+    public static final String STAGE_NANOS = "importStageNanos";
+    public static final String FILE_ROWS = "importFileRows";
+    public static final String FILE_BYTES = "importFileBytes";
+    public static final String READ = "read";
+    public static final String PROCESS = "process";
+    public static final String WRITE = "write";
+    public static final String CHUNK = "chunk";
+
+    private static final String PARTITION_SEPARATOR = ":";
+    private static final String NO_PARTITION = "none";
+
+    private final HashMap<String, Long> stageNanos = new HashMap<>();
+    private final HashMap<String, Long> rowsByFile = new HashMap<>();
+    private MeterRegistry meterRegistry;
+    private Supplier<Resource> currentResource;
+    private String step;
+    private String partitionFile;
+    private Timer readTimer;
+    private Timer processTimer;
+    private Timer writeTimer;
+    private Timer chunkTimer;
+    private LongTaskTimer.Sample stepSample;
+    private Timer.Sample readSample;
+    private Timer.Sample processSample;
+    private Timer.Sample writeSample;
+    private Timer.Sample chunkSample;
+    private Resource fileResource;
+    private long fileRows;
+
+    /**
+     * @param currentResource resource read by multi resource reader delegate, used when step is not partition of single file
+     */
+    public ImportTelemetryListener(MeterRegistry meterRegistry, Supplier<Resource> currentResource) {
+        this.meterRegistry = meterRegistry;
+        this.currentResource = currentResource;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        String[] names = stepExecution.getStepName().split(PARTITION_SEPARATOR, 2);
+        step = names[0];
+        String partition = names.length > 1 ? names[1] : NO_PARTITION;
+        ExecutionContext context = stepExecution.getExecutionContext();
+        partitionFile = context.containsKey(CsvFilePartitioner.FILE_NAME)
+                ? new File(context.getString(CsvFilePartitioner.FILE_NAME)).getName() : null;
+        readTimer = stageTimer(READ, partition);
+        processTimer = stageTimer(PROCESS, partition);
+        writeTimer = stageTimer(WRITE, partition);
+        chunkTimer = stageTimer(CHUNK, partition);
+        stageNanos.clear();
+        rowsByFile.clear();
+        fileResource = null;
+        fileRows = 0;
+        stepSample = LongTaskTimer.builder(ACTIVE_TIMER)
+                .description("Running import steps")
+                .tag("step", step)
+                .tag("partition", partition)
+                .register(meterRegistry)
+                .start();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkSample = Timer.start(meterRegistry);
+    }
+
+    @Override
+    public void beforeRead() {
+        readSample = Timer.start(meterRegistry);
+    }
+
+    @Override
+    public void afterRead(CryptoPrice item) {
+        endRead();
+        if (partitionFile == null) {
+            Resource resource = currentResource.get();
+            if (resource != fileResource) {
+                switchFile(resource);
+            }
+        }
+        fileRows++;
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        endRead();
+    }
+
+    @Override
+    public void beforeProcess(CryptoPrice item) {
+        // read returning end of input is not followed by afterRead
+        endRead();
+        processSample = Timer.start(meterRegistry);
+    }
+
+    @Override
+    public void afterProcess(CryptoPrice item, CryptoPrice result) {
+        processSample = stop(processSample, processTimer, PROCESS);
+    }
+
+    @Override
+    public void onProcessError(CryptoPrice item, Exception e) {
+        processSample = stop(processSample, processTimer, PROCESS);
+    }
+
+    @Override
+    public void beforeWrite(Chunk<? extends CryptoPrice> items) {
+        endRead();
+        writeSample = Timer.start(meterRegistry);
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends CryptoPrice> items) {
+        writeSample = stop(writeSample, writeTimer, WRITE);
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<? extends CryptoPrice> items) {
+        writeSample = stop(writeSample, writeTimer, WRITE);
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        endRead();
+        chunkSample = stop(chunkSample, chunkTimer, CHUNK);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        endRead();
+        chunkSample = stop(chunkSample, chunkTimer, CHUNK);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepSample == null) {
+            return stepExecution.getExitStatus();
+        }
+        stepSample.stop();
+        stepSample = null;
+        switchFile(null);
+        ExecutionContext context = stepExecution.getExecutionContext();
+        HashMap<String, Long> fileBytes = fileBytes(context);
+        context.put(STAGE_NANOS, new HashMap<>(stageNanos));
+        context.put(FILE_ROWS, new HashMap<>(rowsByFile));
+        context.put(FILE_BYTES, fileBytes);
+        rowsByFile.forEach((file, rows) -> fileCounter(ROWS_COUNTER, "Rows read from input file", "rows", file)
+                .increment(rows));
+        fileBytes.forEach((file, bytes) -> fileCounter(BYTES_COUNTER, "Bytes of input file planned for import", "bytes", file)
+                .increment(bytes));
+        return stepExecution.getExitStatus();
+    }
+
+    private void endRead() {
+        readSample = stop(readSample, readTimer, READ);
+    }
+
+    /**
+     * Stops pending sample, if any, adding its time to stage total of step, and returns null to clear it.
+     */
+    private Timer.Sample stop(Timer.Sample sample, Timer timer, String stage) {
+        if (sample != null) {
+            stageNanos.merge(stage, sample.stop(timer), Long::sum);
+        }
+        return null;
+    }
+
+    private void switchFile(Resource resource) {
+        String file = partitionFile;
+        if (file == null && fileResource != null) {
+            file = fileResource.getFilename();
+        }
+        if (file != null && fileRows > 0) {
+            rowsByFile.merge(file, fileRows, Long::sum);
+        }
+        fileResource = resource;
+        fileRows = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HashMap<String, Long> fileBytes(ExecutionContext context) {
+        HashMap<String, Long> fileBytes = new HashMap<>();
+        if (context.containsKey(CsvFilePartitioner.FILE_NAME)) {
+            fileBytes.put(new File(context.getString(CsvFilePartitioner.FILE_NAME)).getName(),
+                    context.getLong(CsvFilePartitioner.END_OFFSET) - context.getLong(CsvFilePartitioner.START_OFFSET));
+        } else if (context.containsKey(IngestLedgerListener.INGEST_PLAN)) {
+            for (IngestRange range : (List<IngestRange>) context.get(IngestLedgerListener.INGEST_PLAN)) {
+                if (!range.isEmpty()) {
+                    fileBytes.merge(new File(range.getFileName()).getName(), range.getEnd() - range.getStart(), Long::sum);
+                }
+            }
+        }
+        return fileBytes;
+    }
+
+    private Timer stageTimer(String stage, String partition) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent by import items and chunks in stage")
+                .tag("step", step)
+                .tag("partition", partition)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private Counter fileCounter(String name, String description, String unit, String file) {
+        return Counter.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tag("step", step)
+                .tag("file", file)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,165 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.IngestLedgerEntry;
+import org.hrabosch.model.IngestSpan;
+import org.hrabosch.repository.IngestLedgerRepository;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+/**
+ * Plans import of input files against ledger of already imported data. Unchanged files get empty range, files with
+ * appended data are read from last processed offset and rewritten files are read whole again.
+ * Changes are detected by file size, modification time and checksum of first and last bytes of processed data.
+ * Timestamp spans of symbols imported from each file are recorded with it, so prices imported from rewritten file can
+ * be deleted before it is imported again. Input files are expected to hold prices of distinct symbols or periods.
+ */
+@Slf4j
+public class IngestLedger {
+
+    static final int CHECKSUM_WINDOW = 64 * 1024;
+
+    private IngestLedgerRepository ingestLedgerRepository;
+    private int linesToSkip;
+
+    public IngestLedger(IngestLedgerRepository ingestLedgerRepository, int linesToSkip) {
+        this.ingestLedgerRepository = ingestLedgerRepository;
+        this.linesToSkip = linesToSkip;
+    }
+
+    public List<IngestRange> plan(Resource[] resources) throws IOException {
+        return plan(resources, false);
+    }
+
+    /**
+     * Plans import of given files, with {@code completeLines} set trailing line without line break is left for later.
+     */
+    public List<IngestRange> plan(Resource[] resources, boolean completeLines) throws IOException {
+        List<IngestRange> ranges = new ArrayList<>(resources.length);
+        for (Resource resource : resources) {
+            ranges.add(planFile(resource.getFile(), completeLines));
+        }
+        return ranges;
+    }
+
+    public void record(List<IngestRange> ranges) {
+        ingestLedgerRepository.saveAll(ranges.stream()
+                .map(range -> new IngestLedgerEntry(range.getFileName(), range.getEnd(), range.getFileSize(),
+                        range.getLastModified(), range.getChecksum(), new ArrayList<>(range.getSpans())))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Part of given range up to given offset, recorded once only that part is imported, so it is not imported again.
+     */
+    public IngestRange truncate(IngestRange range, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(range.getFileName()), StandardOpenOption.READ)) {
+            return new IngestRange(range.getFileName(), range.getStart(), offset, range.getFileSize(),
+                    range.getLastModified(), checksum(channel, offset), range.isRewritten(), range.getSpans());
+        }
+    }
+
+    /**
+     * Spans of prices imported from file of given range before it was rewritten, empty for range not rewritten.
+     */
+    public List<IngestSpan> staleSpans(IngestRange range) {
+        if (!range.isRewritten()) {
+            return List.of();
+        }
+        return ingestLedgerRepository.findById(range.getFileName())
+                .<List<IngestSpan>>map(entry -> new ArrayList<>(entry.getSpans()))
+                .orElse(List.of());
+    }
+
+    private IngestRange planFile(File file, boolean completeLines) throws IOException {
+        String fileName = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        IngestLedgerEntry entry = ingestLedgerRepository.findById(fileName).orElse(null);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (entry != null && entry.getProcessedOffset() == size && entry.getFileSize() == size
+                    && entry.getLastModified() == lastModified) {
+                return new IngestRange(fileName, size, size, size, lastModified, entry.getChecksum(), false,
+                        new ArrayList<>(entry.getSpans()));
+            }
+            long start = 0;
+            boolean rewritten = false;
+            for (int i = 0; i < linesToSkip; i++) {
+                start = CsvFilePartitioner.nextLineStart(channel, start);
+            }
+            if (entry != null && entry.getProcessedOffset() <= size
+                    && entry.getChecksum() == checksum(channel, entry.getProcessedOffset())) {
+                start = Math.max(start, lineStart(channel, entry.getProcessedOffset()));
+            } else if (entry != null) {
+                log.info("Input file {} was rewritten, importing whole file.", fileName);
+                rewritten = true;
+            }
+            long end = completeLines ? Math.max(start, lineStart(channel, size)) : size;
+            List<IngestSpan> spans = start < end
+                    ? SymbolScanner.scan(new FileRangeResource(file, start, end))
+                    : List.of();
+            if (entry != null && !rewritten) {
+                spans = merge(entry.getSpans(), spans);
+            }
+            return new IngestRange(fileName, start, end, size, lastModified, checksum(channel, end), rewritten,
+                    new ArrayList<>(spans));
+        }
+    }
+
+    private static List<IngestSpan> merge(List<IngestSpan> imported, List<IngestSpan> planned) {
+        Map<String, IngestSpan> merged = new LinkedHashMap<>();
+        imported.forEach(span -> merged.merge(span.getSymbol(), span, IngestSpan::merge));
+        planned.forEach(span -> merged.merge(span.getSymbol(), span, IngestSpan::merge));
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * CRC32C of first and last {@link #CHECKSUM_WINDOW} bytes of given length of channel.
+     */
+    static long checksum(FileChannel channel, long length) throws IOException {
+        CRC32C crc = new CRC32C();
+        long headEnd = Math.min(CHECKSUM_WINDOW, length);
+        update(crc, channel, 0, headEnd);
+        update(crc, channel, Math.max(headEnd, length - CHECKSUM_WINDOW), length);
+        return crc.getValue();
+    }
+
+    private static void update(CRC32C crc, FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        int read;
+        do {
+            read = channel.read(buffer, from + buffer.position());
+        } while (read > 0 && buffer.hasRemaining());
+        buffer.flip();
+        crc.update(buffer);
+    }
+
+    /**
+     * Start of line containing byte right before given position, so a line cut off by previous import is read whole.
+     */
+    static long lineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        long current = position;
+        while (current > 0) {
+            buffer.clear();
+            channel.read(buffer, current - 1);
+            if (buffer.get(0) == '\n') {
+                return current;
+            }
+            current--;
+        }
+        return 0;
+    }
+}
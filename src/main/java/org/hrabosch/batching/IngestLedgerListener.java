@@ -0,0 +1,89 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.IngestSpan;
+import org.hrabosch.store.CryptoPriceStoreInitializer;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Puts ingest plan for input files into step execution context before import step and records it to ledger
+ * when step completes. Store is loaded from datasource when it is not loaded yet, so only new data has to be imported
+ * into it. Prices imported from input file rewritten since its last import are deleted before it is imported again.
+ * Symbols of planned data are registered before import starts.
+ */
+@Slf4j
+public class IngestLedgerListener implements StepExecutionListener {
+
+    public static final String INGEST_PLAN = "ingestPlan";
+
+    private IngestLedger ingestLedger;
+    private ResourcePatternResolver resourcePatternResolver;
+    private String locationPattern;
+    private CryptoPriceStoreInitializer cryptoPriceStoreInitializer;
+    private SymbolDictionary symbolDictionary;
+
+    public IngestLedgerListener(IngestLedger ingestLedger, ResourcePatternResolver resourcePatternResolver,
+                                String locationPattern, CryptoPriceStoreInitializer cryptoPriceStoreInitializer,
+                                SymbolDictionary symbolDictionary) {
+        this.ingestLedger = ingestLedger;
+        this.resourcePatternResolver = resourcePatternResolver;
+        this.locationPattern = locationPattern;
+        this.cryptoPriceStoreInitializer = cryptoPriceStoreInitializer;
+        this.symbolDictionary = symbolDictionary;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        ArrayList<IngestRange> plan;
+        try {
+            plan = new ArrayList<>(ingestLedger.plan(resourcePatternResolver.getResources(locationPattern)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot plan import of CSV files: " + locationPattern, e);
+        }
+        registerSymbols(plan);
+        List<IngestSpan> staleSpans = plan.stream()
+                .flatMap(range -> ingestLedger.staleSpans(range).stream())
+                .toList();
+        if (!staleSpans.isEmpty()) {
+            cryptoPriceStoreInitializer.deletePrices(staleSpans);
+        }
+        cryptoPriceStoreInitializer.loadStore();
+        long pendingBytes = plan.stream().mapToLong(range -> range.getEnd() - range.getStart()).sum();
+        long pendingFiles = plan.stream().filter(range -> !range.isEmpty()).count();
+        log.info("Importing {} bytes from {} input files.", pendingBytes, pendingFiles);
+        stepExecution.getExecutionContext().put(INGEST_PLAN, plan);
+    }
+
+    /**
+     * Registers symbols of planned ranges, so concurrent chunks do not register the same new symbol.
+     */
+    private void registerSymbols(List<IngestRange> plan) {
+        Set<String> symbols = new HashSet<>();
+        for (IngestRange range : plan) {
+            if (!range.isEmpty()) {
+                range.getSpans().forEach(span -> symbols.add(span.getSymbol()));
+            }
+        }
+        symbolDictionary.registerAll(symbols);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+            ingestLedger.record((List<IngestRange>) stepExecution.getExecutionContext().get(INGEST_PLAN));
+        }
+        return stepExecution.getExitStatus();
+    }
+}
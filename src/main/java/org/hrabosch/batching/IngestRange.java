@@ -0,0 +1,36 @@
+package org.hrabosch.batching;
+
+import lombok.Value;
+import org.hrabosch.model.IngestSpan;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Byte range of input file planned for import together with file state recorded to ledger once import succeeds.
+ * Range of file rewritten since its last import is flagged, so data imported from it before can be deleted. Spans
+ * cover prices of whole file once range is imported.
+ */
+@Value
+public class IngestRange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String fileName;
+    private long start;
+    private long end;
+    private long fileSize;
+    private long lastModified;
+    private long checksum;
+    private boolean rewritten;
+    private List<IngestSpan> spans;
+
+    public boolean isEmpty() {
+        return start >= end;
+    }
+
+    public FileRangeResource toResource() {
+        return new FileRangeResource(new File(fileName), start, end);
+    }
+}
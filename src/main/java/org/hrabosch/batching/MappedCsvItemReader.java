@@ -0,0 +1,306 @@
+package org.hrabosch.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.CryptoPrice;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.ResourceAwareItemReaderItemStream;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+
+/**
+ * Reads {@code timestamp,symbol,price} lines from memory mapped file (or {@link FileRangeResource} range) and parses
+ * fields directly from mapped bytes. Lines are parsed in blocks into primitive columns, symbols are interned.
+ * Malformed line fails read of its own position only, lines before it are read first and reading can continue after it.
+ */
+@Slf4j
+public class MappedCsvItemReader extends AbstractItemCountingItemStreamItemReader<CryptoPrice>
+        implements ResourceAwareItemReaderItemStream<CryptoPrice> {
+
+    private static final int BLOCK_SIZE = 1024;
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int RADIX = 10;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final int linesToSkip;
+    private final SymbolTable symbolTable = new SymbolTable();
+
+    private final long[] timestamps = new long[BLOCK_SIZE];
+    private final String[] symbols = new String[BLOCK_SIZE];
+    private final double[] prices = new double[BLOCK_SIZE];
+    private final long[] lineEnds = new long[BLOCK_SIZE];
+    private int blockSize;
+    private int blockIndex;
+    private FlatFileParseException pendingError;
+    private long pendingErrorEnd;
+    private long offset;
+
+    private Resource resource;
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long end;
+    private long lineNumber;
+    private int lineFrom;
+    private int lineTo;
+    private long lineEnd;
+
+    public MappedCsvItemReader(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    @Override
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+        window = null;
+        blockSize = 0;
+        blockIndex = 0;
+        pendingError = null;
+        lineNumber = 0;
+        if (resource instanceof FileRangeResource range) {
+            position = range.getStart();
+            end = Math.min(range.getEnd(), channel.size());
+        } else {
+            position = 0;
+            end = channel.size();
+            for (int i = 0; i < linesToSkip && nextLine(); i++) {
+                position = lineEnd;
+            }
+        }
+        offset = position;
+    }
+
+    /**
+     * File offset right after last line read, including malformed line whose read failed.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    protected CryptoPrice doRead() throws Exception {
+        if (blockIndex == blockSize) {
+            if (pendingError == null) {
+                readBlock();
+            }
+            if (blockIndex == blockSize) {
+                return pendingError == null ? null : failPending();
+            }
+        }
+        int index = blockIndex++;
+        offset = lineEnds[index];
+        return new CryptoPrice(new Timestamp(timestamps[index]), symbols[index], prices[index]);
+    }
+
+    private CryptoPrice failPending() {
+        FlatFileParseException error = pendingError;
+        pendingError = null;
+        offset = pendingErrorEnd;
+        throw error;
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        window = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void readBlock() throws IOException {
+        blockSize = 0;
+        blockIndex = 0;
+        try {
+            while (blockSize < BLOCK_SIZE && nextLine()) {
+                position = lineEnd;
+                lineNumber++;
+                if (lineTo > lineFrom) {
+                    parseLine(blockSize);
+                    lineEnds[blockSize++] = lineEnd;
+                }
+            }
+        } catch (FlatFileParseException e) {
+            // Thrown once lines parsed before it are read.
+            pendingError = e;
+            pendingErrorEnd = position;
+        }
+    }
+
+    /**
+     * Finds next line starting at current position, line content (without line break) is [lineFrom, lineTo)
+     * of current window and next line starts at lineEnd file offset.
+     */
+    private boolean nextLine() throws IOException {
+        if (position >= end) {
+            return false;
+        }
+        if (window == null || position >= windowStart + window.limit()) {
+            map(position);
+        }
+        while (true) {
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    setLine(from, i, windowStart + i + 1);
+                    return true;
+                }
+            }
+            if (windowStart + limit >= end) {
+                setLine(from, limit, end);
+                return true;
+            }
+            if (from == 0) {
+                // Rest of range cannot be split into lines, so it is not read.
+                position = end;
+                throw new FlatFileParseException("Line at file offset " + windowStart + " exceeds mapping window", "",
+                        (int) lineNumber + 1);
+            }
+            map(position);
+        }
+    }
+
+    private void setLine(int from, int to, long nextLineStart) {
+        lineFrom = from;
+        lineTo = to > from && window.get(to - 1) == '\r' ? to - 1 : to;
+        lineEnd = nextLineStart;
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, end - start));
+    }
+
+    private void parseLine(int index) {
+        int firstComma = indexOf(',', lineFrom);
+        int secondComma = firstComma < 0 ? -1 : indexOf(',', firstComma + 1);
+        if (secondComma < 0) {
+            throw parseError(null);
+        }
+        int priceEnd = indexOf(',', secondComma + 1);
+        int symbolFrom = trimStart(firstComma + 1, secondComma);
+        int symbolTo = trimEnd(symbolFrom, secondComma);
+        if (symbolFrom == symbolTo) {
+            throw parseError(null);
+        }
+        int priceFrom = trimStart(secondComma + 1, priceEnd < 0 ? lineTo : priceEnd);
+        try {
+            int timestampFrom = trimStart(lineFrom, firstComma);
+            timestamps[index] = parseLong(timestampFrom, trimEnd(timestampFrom, firstComma));
+            symbols[index] = symbolTable.intern(window, symbolFrom, symbolTo);
+            prices[index] = parseDouble(priceFrom, trimEnd(priceFrom, priceEnd < 0 ? lineTo : priceEnd));
+        } catch (NumberFormatException e) {
+            throw parseError(e);
+        }
+    }
+
+    /**
+     * Fields are trimmed like by {@link org.springframework.batch.item.file.transform.FieldSet#readString(String)}.
+     */
+    private int trimStart(int from, int to) {
+        int i = from;
+        while (i < to && Character.isWhitespace(window.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int trimEnd(int from, int to) {
+        int i = to;
+        while (i > from && Character.isWhitespace(window.get(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private int indexOf(char character, int from) {
+        for (int i = from; i < lineTo; i++) {
+            if (window.get(i) == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long parseLong(int from, int to) {
+        boolean negative = from < to && window.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) {
+            throw new NumberFormatException("Empty number");
+        }
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                throw new NumberFormatException("Invalid digit in number");
+            }
+            result = Math.addExact(Math.multiplyExact(result, RADIX), digit);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses plain decimal numbers with up to 15 significant digits exactly, other forms fall back to
+     * {@link Double#parseDouble(String)}.
+     */
+    private double parseDouble(int from, int to) {
+        boolean negative = from < to && window.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; i < to; i++) {
+            byte current = window.get(i);
+            if (current == '.' && !fraction) {
+                fraction = true;
+            } else if (current >= '0' && current <= '9') {
+                mantissa = mantissa * RADIX + (current - '0');
+                digits++;
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else {
+                break;
+            }
+        }
+        if (i < to || digits == 0 || digits > MAX_FAST_DIGITS) {
+            return Double.parseDouble(new String(lineBytes(from, to), StandardCharsets.US_ASCII));
+        }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private byte[] lineBytes(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        return bytes;
+    }
+
+    /**
+     * Line number counts lines read from start of resource, which is not start of file for file range, so error
+     * reports also file offset of the line.
+     */
+    private FlatFileParseException parseError(Exception cause) {
+        String line = new String(lineBytes(lineFrom, lineTo), StandardCharsets.UTF_8);
+        return new FlatFileParseException("Parsing error at line: " + lineNumber + " (file offset "
+                + (windowStart + lineFrom) + ") in resource=[" + resource.getDescription() + "], input=[" + line + "]",
+                cause, line, (int) lineNumber);
+    }
+}
@@ -0,0 +1,50 @@
+package org.hrabosch.batching;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.ResourceAwareItemReaderItemStream;
+import org.springframework.core.io.Resource;
+
+/**
+ * Delegate of multi resource reader remembering resource it currently reads, so listeners can attribute read
+ * items to input files.
+ */
+public class ResourceTrackingItemReader<T> implements ResourceAwareItemReaderItemStream<T> {
+
+    private ResourceAwareItemReaderItemStream<? extends T> delegate;
+    private volatile Resource resource;
+
+    public ResourceTrackingItemReader(ResourceAwareItemReaderItemStream<? extends T> delegate) {
+        this.delegate = delegate;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    @Override
+    public void setResource(Resource resource) {
+        this.resource = resource;
+        delegate.setResource(resource);
+    }
+
+    @Override
+    public T read() throws Exception {
+        return delegate.read();
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        delegate.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        delegate.update(executionContext);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,71 @@
+package org.hrabosch.batching;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves symbol names to ids of {@code crypto_symbol} dictionary, registering new symbols. Import registers symbols
+ * of input up front by {@link #registerAll(Collection)}, so writers running in chunk transactions only read cached
+ * ids. Symbol missing from dictionary is registered on connection of current transaction, so writer never waits for
+ * another pooled connection, and its id is cached only once that transaction commits.
+ */
+public class SymbolDictionary {
+
+    static final String REGISTER_SQL = "MERGE INTO crypto_symbol (name) KEY (name) VALUES (?)";
+    static final String SELECT_ID_SQL = "SELECT id FROM crypto_symbol WHERE name = ?";
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    public SymbolDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Registers given symbols in one transaction, to be called before chunks writing their prices run.
+     */
+    public void registerAll(Collection<String> symbols) {
+        Map<String, Integer> registered = transactionTemplate.execute(status -> {
+            Map<String, Integer> resolved = new HashMap<>();
+            symbols.stream()
+                    .filter(symbol -> !ids.containsKey(symbol))
+                    .forEach(symbol -> resolved.put(symbol, register(symbol)));
+            return resolved;
+        });
+        ids.putAll(registered);
+    }
+
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        int registered = register(symbol);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.putIfAbsent(symbol, registered);
+                }
+            });
+        } else {
+            ids.putIfAbsent(symbol, registered);
+        }
+        return registered;
+    }
+
+    private int register(String symbol) {
+        jdbcTemplate.update(REGISTER_SQL, symbol);
+        return jdbcTemplate.queryForObject(SELECT_ID_SQL, Integer.class, symbol);
+    }
+}
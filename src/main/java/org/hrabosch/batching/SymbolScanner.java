@@ -0,0 +1,135 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.model.IngestSpan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects symbols of {@code timestamp,symbol,price} lines of file range together with timestamp span of each symbol
+ * by one sequential pass over its bytes, so symbols can be registered before import writes any price and prices of
+ * the range can be found again once file is rewritten. Fields are trimmed like parsed fields, lines without symbol
+ * field or numeric timestamp are left for reader to report.
+ */
+final class SymbolScanner {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_TIMESTAMP_DIGITS = 18;
+    private static final int DECIMAL_BASE = 10;
+
+    private SymbolScanner() {
+    }
+
+    static List<IngestSpan> scan(FileRangeResource range) throws IOException {
+        Map<String, long[]> spans = new HashMap<>();
+        SymbolTable symbolTable = new SymbolTable();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(range.getFile().toPath(), StandardOpenOption.READ)) {
+            long position = range.getStart();
+            long end = Math.min(range.getEnd(), channel.size());
+            boolean skipLine = false;
+            while (position < end || buffer.position() > 0) {
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    end = position;
+                } else {
+                    position += read;
+                }
+                buffer.flip();
+                boolean last = position >= end;
+                int lineStart = 0;
+                for (int i = 0; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        if (!skipLine) {
+                            addLine(spans, symbolTable, buffer, lineStart, i);
+                        }
+                        skipLine = false;
+                        lineStart = i + 1;
+                    }
+                }
+                if (last) {
+                    if (!skipLine) {
+                        addLine(spans, symbolTable, buffer, lineStart, buffer.limit());
+                    }
+                    break;
+                }
+                if (lineStart == 0 && buffer.limit() == buffer.capacity()) {
+                    // Line longer than buffer is not a price line, reader reports it.
+                    skipLine = true;
+                    buffer.clear();
+                } else {
+                    buffer.position(lineStart);
+                    buffer.compact();
+                }
+            }
+        }
+        List<IngestSpan> result = new ArrayList<>(spans.size());
+        spans.forEach((symbol, span) -> result.add(new IngestSpan(symbol, span[0], span[1])));
+        return result;
+    }
+
+    private static void addLine(Map<String, long[]> spans, SymbolTable symbolTable, ByteBuffer buffer, int from, int to) {
+        int firstComma = indexOf(buffer, from, to);
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, firstComma + 1, to);
+        if (secondComma < 0) {
+            return;
+        }
+        int symbolFrom = firstComma + 1;
+        int symbolTo = secondComma;
+        while (symbolFrom < symbolTo && Character.isWhitespace(buffer.get(symbolFrom))) {
+            symbolFrom++;
+        }
+        while (symbolTo > symbolFrom && Character.isWhitespace(buffer.get(symbolTo - 1))) {
+            symbolTo--;
+        }
+        long timestamp = parseTimestamp(buffer, from, firstComma);
+        if (symbolTo > symbolFrom && timestamp >= 0) {
+            long[] span = spans.computeIfAbsent(symbolTable.intern(buffer, symbolFrom, symbolTo),
+                    symbol -> new long[]{timestamp, timestamp});
+            span[0] = Math.min(span[0], timestamp);
+            span[1] = Math.max(span[1], timestamp);
+        }
+    }
+
+    /**
+     * Epoch millis of trimmed digits between given positions, or -1 when they are not a number.
+     */
+    private static long parseTimestamp(ByteBuffer buffer, int from, int to) {
+        int start = from;
+        int end = to;
+        while (start < end && Character.isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        if (start == end || end - start > MAX_TIMESTAMP_DIGITS) {
+            return -1;
+        }
+        long timestamp = 0;
+        for (int i = start; i < end; i++) {
+            byte digit = buffer.get(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            timestamp = timestamp * DECIMAL_BASE + (digit - '0');
+        }
+        return timestamp;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,41 @@
+package org.hrabosch.configuration;
+
+import org.hrabosch.service.SymbolFanOut;
+import org.hrabosch.store.PriceKernel;
+import org.hrabosch.store.PriceKernels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor of per-symbol analytics computation. Computation runs on in-memory store, so pool is bounded by number
+ * of processors rather than by datasource connections. Pool is not exposed as bean, so it does not replace
+ * application task executor. Price kernel of in-memory store is selected by {@code analytics.kernel}.
+ */
+@Configuration
+public class AnalyticsConfiguration {
+
+    @Value("${analytics.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int analyticsParallelism;
+
+    @Value("${analytics.timeout:5s}")
+    private Duration analyticsTimeout;
+
+    @Value("${analytics.kernel:" + PriceKernels.SCALAR + "}")
+    private String analyticsKernel;
+
+    @Bean(destroyMethod = "shutdown")
+    public SymbolFanOut symbolFanOut() {
+        return new SymbolFanOut(Executors.newFixedThreadPool(analyticsParallelism, new CustomizableThreadFactory("analytics-")),
+                analyticsParallelism, analyticsTimeout);
+    }
+
+    @Bean
+    public PriceKernel priceKernel() {
+        return PriceKernels.of(analyticsKernel);
+    }
+}
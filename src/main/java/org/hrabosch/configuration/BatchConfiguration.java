@@ -1,37 +1,70 @@
 package org.hrabosch.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hrabosch.batching.AnalyticsCacheInvalidator;
+import org.hrabosch.batching.CryptoPriceRollupTasklet;
+import org.hrabosch.batching.CryptoPriceStoreListener;
 import org.hrabosch.batching.CsvCryptoFieldMapper;
+import org.hrabosch.batching.CsvDirectoryWatcher;
+import org.hrabosch.batching.CsvFilePartitioner;
+import org.hrabosch.batching.FileRangeResource;
+import org.hrabosch.batching.ImportLockListener;
+import org.hrabosch.batching.ImportTelemetryListener;
+import org.hrabosch.batching.IngestLedger;
+import org.hrabosch.batching.IngestLedgerListener;
+import org.hrabosch.batching.IngestRange;
+import org.hrabosch.batching.MappedCsvItemReader;
+import org.hrabosch.batching.ResourceTrackingItemReader;
+import org.hrabosch.batching.SymbolDictionary;
 import org.hrabosch.model.CryptoPrice;
 import org.hrabosch.batching.CryptoPriceItemProcessor;
-import org.hrabosch.repository.CryptoPriceRepository;
+import org.hrabosch.batching.CryptoPriceJdbcItemWriter;
+import org.hrabosch.repository.IngestLedgerRepository;
+import org.hrabosch.store.CryptoPriceStore;
+import org.hrabosch.store.CryptoPriceStoreInitializer;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.data.RepositoryItemWriter;
-import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.MultiResourceItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 @Configuration
 public class BatchConfiguration {
 
-    @Value("file:${input.sourceDir}${input.pattern}")
-    private Resource[] inputFiles;
+    private static final String MAPPED_READER = "mapped";
 
     @Value("${input.linesToSkip:1}")
     private int linesToSkip;
@@ -42,16 +75,66 @@ public class BatchConfiguration {
     @Value("${input.chunksize:10}")
     private int importCsvChunkSize;
 
+    @Value("${input.reader:flatfile}")
+    private String inputReader;
+
+    @Value("${input.writer.batchSize:1000}")
+    private int importWriterBatchSize;
+
+    @Value("file:${input.sourceDir}${input.pattern}")
+    private String inputLocationPattern;
+
+    @Value("${input.partition.enabled:false}")
+    private boolean partitionEnabled;
+
+    @Value("${input.partition.gridSize:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int partitionGridSize;
+
+    @Value("${input.partition.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int partitionThreads;
+
+    @Value("${input.partition.minSize:1048576}")
+    private long partitionMinSize;
+
+    @Value("${input.sourceDir}")
+    private String inputSourceDir;
+
+    @Value("${input.pattern}")
+    private String inputPattern;
+
+    @Value("${input.watch.interval:1s}")
+    private Duration watchInterval;
+
+    @Value("${input.watch.batchSize:1000}")
+    private int watchBatchSize;
+
+    @Autowired
+    private ResourcePatternResolver resourcePatternResolver;
+
     @Autowired
-    private CryptoPriceRepository cryptoPriceRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
     private CsvCryptoFieldMapper csvCryptoFieldMapper;
 
+    @Autowired
+    private CryptoPriceStore cryptoPriceStore;
+
+    @Autowired
+    private CryptoPriceStoreInitializer cryptoPriceStoreInitializer;
+
+    @Autowired
+    private IngestLedgerRepository ingestLedgerRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
     public FlatFileItemReader<CryptoPrice> cryptoPriceReader() {
         return new FlatFileItemReaderBuilder<CryptoPrice>().name("cryptoPriceReader")
-                .linesToSkip(linesToSkip)
                 .delimited()
                 .names(inputHeaders)
                 .fieldSetMapper(csvCryptoFieldMapper)
@@ -60,31 +143,148 @@ public class BatchConfiguration {
 
     @Bean
     @StepScope
-    public MultiResourceItemReader<CryptoPrice> multiResourceItemReader() {
+    public MultiResourceItemReader<CryptoPrice> multiResourceItemReader(
+            @Value("#{stepExecutionContext['" + IngestLedgerListener.INGEST_PLAN + "']}") List<IngestRange> plan) {
         MultiResourceItemReader<CryptoPrice> resourceItemReader = new MultiResourceItemReader<>();
-        resourceItemReader.setResources(inputFiles);
-        resourceItemReader.setDelegate(cryptoPriceReader());
+        resourceItemReader.setResources(plan.stream()
+                .filter(range -> !range.isEmpty())
+                .map(IngestRange::toResource)
+                .toArray(FileRangeResource[]::new));
+        resourceItemReader.setDelegate(resourceTrackingReader());
         return resourceItemReader;
     }
 
+    @Bean
+    public ResourceTrackingItemReader<CryptoPrice> resourceTrackingReader() {
+        return new ResourceTrackingItemReader<>(MAPPED_READER.equals(inputReader)
+                ? mappedCryptoPriceReader() : cryptoPriceReader());
+    }
+
+    @Bean
+    public MappedCsvItemReader mappedCryptoPriceReader() {
+        MappedCsvItemReader reader = new MappedCsvItemReader(linesToSkip);
+        reader.setName("mappedCryptoPriceReader");
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamReader<CryptoPrice> partitionCryptoPriceReader(
+            @Value("#{stepExecutionContext['" + CsvFilePartitioner.FILE_NAME + "']}") String fileName,
+            @Value("#{stepExecutionContext['" + CsvFilePartitioner.START_OFFSET + "']}") Long startOffset,
+            @Value("#{stepExecutionContext['" + CsvFilePartitioner.END_OFFSET + "']}") Long endOffset) {
+        FileRangeResource range = new FileRangeResource(new File(fileName), startOffset, endOffset);
+        if (MAPPED_READER.equals(inputReader)) {
+            MappedCsvItemReader reader = new MappedCsvItemReader(linesToSkip);
+            reader.setName("partitionCryptoPriceReader");
+            reader.setResource(range);
+            return reader;
+        }
+        return new FlatFileItemReaderBuilder<CryptoPrice>().name("partitionCryptoPriceReader")
+                .resource(range)
+                .delimited()
+                .names(inputHeaders)
+                .fieldSetMapper(csvCryptoFieldMapper)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public CsvFilePartitioner csvFilePartitioner(
+            @Value("#{stepExecutionContext['" + IngestLedgerListener.INGEST_PLAN + "']}") List<IngestRange> plan) {
+        return new CsvFilePartitioner(plan, partitionMinSize);
+    }
+
+    @Bean
+    public IngestLedger ingestLedger() {
+        return new IngestLedger(ingestLedgerRepository, linesToSkip);
+    }
+
+    @Bean
+    public IngestLedgerListener ingestLedgerListener(SymbolDictionary symbolDictionary) {
+        return new IngestLedgerListener(ingestLedger(), resourcePatternResolver, inputLocationPattern,
+                cryptoPriceStoreInitializer, symbolDictionary);
+    }
+
     @Bean
     public CryptoPriceItemProcessor cryptoPriceItemProcessor() {
         return new CryptoPriceItemProcessor();
     }
 
     @Bean
-    public RepositoryItemWriter<CryptoPrice> cryptoPriceWriter(List<CryptoPrice> processedItems) {
-        return new RepositoryItemWriterBuilder<CryptoPrice>()
-                .repository(cryptoPriceRepository)
-                .methodName("save")
-                .build();
+    public SymbolDictionary symbolDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new SymbolDictionary(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public CryptoPriceJdbcItemWriter cryptoPriceWriter(JdbcTemplate jdbcTemplate, SymbolDictionary symbolDictionary) {
+        return new CryptoPriceJdbcItemWriter(jdbcTemplate, symbolDictionary, importWriterBatchSize);
+    }
+
+    @Bean
+    public CryptoPriceStoreListener cryptoPriceStoreListener() {
+        return new CryptoPriceStoreListener(cryptoPriceStore);
+    }
+
+    @Bean
+    @StepScope
+    public ImportTelemetryListener importTelemetryListener() {
+        return new ImportTelemetryListener(meterRegistry, resourceTrackingReader()::getResource);
+    }
+
+    @Bean
+    public CryptoPriceRollupTasklet cryptoPriceRollupTasklet() {
+        return new CryptoPriceRollupTasklet(cryptoPriceStore, jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "input.watch.enabled", havingValue = "true")
+    public CsvDirectoryWatcher csvDirectoryWatcher(ItemWriter<CryptoPrice> writer, PlatformTransactionManager transactionManager) {
+        CsvDirectoryWatcher watcher = new CsvDirectoryWatcher(ingestLedger(), Path.of(inputSourceDir).toAbsolutePath(),
+                inputPattern, writer, cryptoPriceStore, cryptoPriceRollupTasklet(), new TransactionTemplate(transactionManager));
+        watcher.setInterval(watchInterval);
+        watcher.setBatchSize(watchBatchSize);
+        watcher.setAfterIngest(analyticsCacheInvalidator()::invalidate);
+        watcher.setImportLock(importLock());
+        watcher.setCryptoPriceStoreInitializer(cryptoPriceStoreInitializer);
+        return watcher;
+    }
+
+    @Bean
+    public ReentrantLock importLock() {
+        return new ReentrantLock();
+    }
+
+    @Bean
+    public ImportLockListener importLockListener() {
+        return new ImportLockListener(importLock());
+    }
+
+    @Bean
+    public AnalyticsCacheInvalidator analyticsCacheInvalidator() {
+        return new AnalyticsCacheInvalidator(cacheManager);
+    }
+
+    /**
+     * Launcher returning job execution right after it is created, job itself runs in background thread.
+     */
+    @Bean
+    public JobLauncher asyncJobLauncher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(new SimpleAsyncTaskExecutor("csv-import-job-"));
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
     }
 
     @Bean(name = "csvImportJob")
-    public Job readCsvFiles(JobRepository jobRepository, Step step) {
+    public Job readCsvFiles(JobRepository jobRepository, Step step, Step partitionedStep, Step rollupStep) {
         return new JobBuilder("csvImportJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
-                .start(step)
+                .listener(importLockListener())
+                .listener(analyticsCacheInvalidator())
+                .start(partitionEnabled ? partitionedStep : step)
+                .next(rollupStep)
                 .build();
     }
 
@@ -92,9 +292,61 @@ public class BatchConfiguration {
     public Step step(JobRepository jobRepository, PlatformTransactionManager transactionManager, ItemWriter<CryptoPrice> writer) {
         return new StepBuilder("step", jobRepository)
                 .<CryptoPrice, CryptoPrice> chunk(importCsvChunkSize, transactionManager)
-                .reader(multiResourceItemReader())
+                .reader(multiResourceItemReader(null))
                 .processor(cryptoPriceItemProcessor())
                 .writer(writer)
+                .listener((ItemWriteListener<CryptoPrice>) cryptoPriceStoreListener())
+                .listener((ChunkListener) cryptoPriceStoreListener())
+                .listener((StepExecutionListener) cryptoPriceStoreListener())
+                .listener((ItemReadListener<CryptoPrice>) importTelemetryListener())
+                .listener((ItemProcessListener<CryptoPrice, CryptoPrice>) importTelemetryListener())
+                .listener((ItemWriteListener<CryptoPrice>) importTelemetryListener())
+                .listener((ChunkListener) importTelemetryListener())
+                .listener((StepExecutionListener) importTelemetryListener())
+                .listener(ingestLedgerListener(null))
+                .build();
+    }
+
+    @Bean
+    public Step partitionStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                              ItemWriter<CryptoPrice> writer) {
+        return new StepBuilder("partitionStep", jobRepository)
+                .<CryptoPrice, CryptoPrice> chunk(importCsvChunkSize, transactionManager)
+                .reader(partitionCryptoPriceReader(null, null, null))
+                .processor(cryptoPriceItemProcessor())
+                .writer(writer)
+                .listener((ItemWriteListener<CryptoPrice>) cryptoPriceStoreListener())
+                .listener((ChunkListener) cryptoPriceStoreListener())
+                .listener((ItemReadListener<CryptoPrice>) importTelemetryListener())
+                .listener((ItemProcessListener<CryptoPrice, CryptoPrice>) importTelemetryListener())
+                .listener((ItemWriteListener<CryptoPrice>) importTelemetryListener())
+                .listener((ChunkListener) importTelemetryListener())
+                .listener((StepExecutionListener) importTelemetryListener())
+                .build();
+    }
+
+    @Bean
+    public Step partitionedStep(JobRepository jobRepository, Step partitionStep) {
+        return new StepBuilder("partitionedStep", jobRepository)
+                .partitioner(partitionStep.getName(), csvFilePartitioner(null))
+                .step(partitionStep)
+                .gridSize(partitionGridSize)
+                .taskExecutor(importTaskExecutor())
+                .listener((StepExecutionListener) cryptoPriceStoreListener())
+                .listener(ingestLedgerListener(null))
+                .build();
+    }
+
+    private TaskExecutor importTaskExecutor() {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("csv-import-");
+        taskExecutor.setConcurrencyLimit(partitionThreads);
+        return taskExecutor;
+    }
+
+    @Bean
+    public Step rollupStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        return new StepBuilder("rollupStep", jobRepository)
+                .tasklet(cryptoPriceRollupTasklet(), transactionManager)
                 .build();
     }
 }
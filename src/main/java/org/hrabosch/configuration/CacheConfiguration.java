@@ -0,0 +1,22 @@
+package org.hrabosch.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches of analytics results. Size and TTL are set by {@code spring.cache.caffeine.spec}, caches are cleared
+ * whenever imported prices are published.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String NORMALIZED_ALL_CACHE = "normalizedAll";
+    public static final String NORMALIZED_PAGE_CACHE = "normalizedPage";
+    public static final String NORMALIZED_TOP_CACHE = "normalizedTop";
+    public static final String NORMALIZED_DAYS_CACHE = "normalizedDays";
+    public static final String STATISTICS_CACHE = "statistics";
+    public static final String STATISTICS_MATRIX_CACHE = "statisticsMatrix";
+    public static final String RANGE_STATISTICS_CACHE = "rangeStatistics";
+    public static final String CANDLES_CACHE = "candles";
+}
@@ -0,0 +1,52 @@
+package org.hrabosch.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hrabosch.controller.RepositoryCallsInterceptor;
+import org.hrabosch.controller.SymbolsObservationConvention;
+import org.hrabosch.repository.RepositoryMetricsInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Metrics of query endpoints and repository calls, exposed on {@code /actuator/metrics} and {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Adds {@link RepositoryMetricsInterceptor} to every Spring Data repository proxy.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                                    meterRegistry::getObject, repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SymbolsObservationConvention symbolsObservationConvention() {
+        return new SymbolsObservationConvention();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RepositoryCallsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+}
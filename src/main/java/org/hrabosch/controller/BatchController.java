@@ -1,22 +1,28 @@
 package org.hrabosch.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import org.hrabosch.model.BatchJobStatus;
 import org.hrabosch.service.BatchService;
-import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionException;
 import org.springframework.batch.core.launch.NoSuchJobInstanceException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/batch")
 public class BatchController {
 
+    private static final String EXECUTIONS_PATH = "/api/batch/executions/";
+
     private BatchService batchService;
 
     @Autowired
@@ -25,25 +31,37 @@ public class BatchController {
     }
 
 
-    @Operation(summary = "Trigger CSV import batch job.")
+    @Operation(summary = "Trigger CSV import batch job.",
+            description = "Job is executed in background, running job execution is returned instead of starting new one.")
     @PatchMapping("/refresh")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public ResponseEntity<HttpStatus> refreshData() {
+    public ResponseEntity<BatchJobStatus> refreshData() {
         try {
-            batchService.triggerReload();
+            BatchJobStatus status = batchService.triggerReload();
+            return ResponseEntity.accepted()
+                    .location(URI.create(EXECUTIONS_PATH + status.getExecutionId()))
+                    .body(status);
         } catch (JobExecutionException e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
-        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "Get state of CSV import job execution.")
+    @GetMapping("/executions/{executionId}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<BatchJobStatus> batchExecStatus(@PathVariable long executionId) {
+        return batchService.getBatchProcess(executionId)
+                .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @Operation(summary = "Get result of latest CSV import job execution.")
     @PatchMapping("/lastBatchExecStatus")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<JobExecution> lastBatchExecStatus() {
+    public ResponseEntity<BatchJobStatus> lastBatchExecStatus() {
         try {
-            JobExecution jobExecution = batchService.getLastBatchProcess();
-            return new ResponseEntity<>(jobExecution, HttpStatus.OK);
+            BatchJobStatus status = batchService.getLastBatchProcess();
+            return new ResponseEntity<>(status, HttpStatus.OK);
         } catch (NoSuchJobInstanceException e) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
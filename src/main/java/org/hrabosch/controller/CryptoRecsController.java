@@ -1,15 +1,28 @@
 package org.hrabosch.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceCandles;
 import org.hrabosch.model.CryptoPriceComputed;
+import org.hrabosch.model.CryptoPriceDailyHighest;
+import org.hrabosch.model.CryptoPriceCursor;
+import org.hrabosch.model.CryptoPriceRollingNormalized;
 import org.hrabosch.model.CryptoPriceStatistics;
+import org.hrabosch.model.CryptoPriceStatisticsMatrix;
 import org.hrabosch.service.CryptoRecsService;
+import org.hrabosch.store.CandleInterval;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,9 +31,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,11 +47,20 @@ import java.util.Optional;
 @RequestMapping("/api/crypto")
 public class CryptoRecsController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 10000;
+    public static final int MAX_DAYS = 366;
+    public static final int MAX_MONTHS = 120;
+    public static final int MAX_CANDLES = 10000;
+
     private CryptoRecsService cryptoRecsService;
+    private ObjectWriter cryptoPriceWriter;
 
     @Autowired
-    public CryptoRecsController(CryptoRecsService cryptoRecsService) {
+    public CryptoRecsController(CryptoRecsService cryptoRecsService, ObjectMapper objectMapper) {
         this.cryptoRecsService = cryptoRecsService;
+        this.cryptoPriceWriter = objectMapper.writerFor(CryptoPrice.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Operation(summary = "List all allowed price records for all or specific symbol.")
@@ -46,6 +74,58 @@ public class CryptoRecsController {
                 : new ResponseEntity<>(results, HttpStatus.OK);
     }
 
+    @Operation(summary = "List page of allowed price records for all or specific symbol.",
+            description = "Records are grouped by symbol in order of its first import and ordered by timestamp. When there "
+                    + "can be more records, response contains " + NEXT_CURSOR_HEADER + " header with cursor of next page.")
+    @GetMapping(value = "/list", params = "limit")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CryptoPrice>> getAvailableCryptosPage(@RequestParam Optional<String> symbol,
+                                                                     @RequestParam int limit,
+                                                                     @RequestParam Optional<String> cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Optional<CryptoPriceCursor> after;
+        try {
+            after = cursor.map(CryptoPriceCursor::decode);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CryptoPrice> results = cryptoRecsService.findPage(symbol, after, limit);
+        if (results.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (results.size() == limit) {
+            headers.add(NEXT_CURSOR_HEADER, CryptoPriceCursor.after(results.get(results.size() - 1)).encode());
+        }
+        return new ResponseEntity<>(results, headers, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Stream all allowed price records for all or specific symbol as newline delimited JSON.",
+            description = "Records are grouped by symbol in order of its first import, ordered by timestamp and written "
+                    + "as they are read from datasource.")
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> streamAvailableCryptos(@RequestParam Optional<String> symbol) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = cryptoPriceWriter.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                cryptoRecsService.streamPrices(symbol, cryptoPrice -> writeLine(generator, cryptoPrice));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(JsonGenerator generator, CryptoPrice cryptoPrice) {
+        try {
+            cryptoPriceWriter.writeValue(generator, cryptoPrice);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Operation(summary = "Get normalized price per stored crypto.",
             description = "Computing normalized price per allowed symbol stored within service."
                     + "Normalized price is calculated from all available data.")
@@ -60,6 +140,24 @@ public class CryptoRecsController {
                 : new ResponseEntity<>(results, HttpStatus.OK);
     }
 
+    @Operation(summary = "Get page of normalized prices per stored crypto.",
+            description = "Returns limit symbols ordered by normalized price, skipping offset of them. Ranking is kept "
+                    + "up to date by import, so page costs time proportional to offset and limit.")
+    @GetMapping(value = "/normalized/all", params = "limit")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CryptoPriceComputed>> getNormalizedPage(
+            @RequestParam(required = false, defaultValue = "DESC") Sort.Direction sort,
+            @RequestParam int limit,
+            @RequestParam(required = false, defaultValue = "0") int offset) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE || offset < 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CryptoPriceComputed> results = cryptoRecsService.getNormalizedPage(sort, offset, limit);
+        return CollectionUtils.isEmpty(results)
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @Operation(summary = "Get highest normalized of day.",
             description = "Computes and returns Crypto with highest normalized price for specific day.")
     @GetMapping("/normalized/top")
@@ -71,6 +169,71 @@ public class CryptoRecsController {
                 : new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @Operation(summary = "Get highest normalized of every day of range.",
+            description = "Returns Crypto with highest normalized price for every day between from and to, both "
+                    + "inclusive, computed in single request. Days without prices are omitted.")
+    @GetMapping(value = "/normalized/top", params = {"from", "to"})
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CryptoPriceDailyHighest>> getHighestNormalizedForDays(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CryptoPriceDailyHighest> results = cryptoRecsService.getHighestNormalizeOfDays(from, to);
+        return CollectionUtils.isEmpty(results)
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get highest normalized range of trailing window per symbol.",
+            description = "Normalized range of window ending at every price is computed, highest one per symbol is "
+                    + "returned, ordered from the highest. Window is duration like 24h, 7d or PT12H.")
+    @GetMapping("/normalized/rolling")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CryptoPriceRollingNormalized>> getHighestRollingNormalized(
+            @Parameter(example = "24h") @RequestParam String window) {
+        Optional<Duration> duration = parseWindow(window);
+        if (duration.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CryptoPriceRollingNormalized> results = cryptoRecsService.getHighestRollingNormalized(duration.get());
+        return results.isEmpty()
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get normalized range of trailing window at every price of symbol in given time period.",
+            description = "Period may span at most 366 days. Returns no content for unknown or disabled symbol and "
+                    + "period without prices.")
+    @GetMapping("/normalized/rolling/{symbol}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CryptoPriceRollingNormalized>> getRollingNormalized(
+            @PathVariable String symbol,
+            @Parameter(example = "24h") @RequestParam String window,
+            @Parameter(example = "2022-01-08 00:00:00")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime from,
+            @Parameter(example = "2022-01-08 23:59:59")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime to) {
+        Optional<Duration> duration = parseWindow(window);
+        if (duration.isEmpty() || to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CryptoPriceRollingNormalized> results = cryptoRecsService.getRollingNormalized(symbol, duration.get(), from, to);
+        return CollectionUtils.isEmpty(results)
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    private static Optional<Duration> parseWindow(String window) {
+        try {
+            Duration duration = DurationStyle.detectAndParse(window);
+            return duration.isNegative() || duration.isZero() ? Optional.empty() : Optional.of(duration);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     @Operation(summary = "Find oldest/newest/min/max entry for given month.")
     @GetMapping(value = {"/statistics", "/statistics/{symbol}"})
     @ResponseStatus(HttpStatus.OK)
@@ -82,6 +245,20 @@ public class CryptoRecsController {
         return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
+    @Operation(summary = "Find oldest/newest/min/max entry for every given symbol and month.",
+            description = "Returns statistics matrix of given symbols (all when none is given) and months in columnar "
+                    + "form, cells of months without prices are null.")
+    @GetMapping("/statistics-matrix")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<CryptoPriceStatisticsMatrix> getStatisticsMatrix(
+            @Parameter(example = "BTC,ETH") @RequestParam Optional<List<String>> symbols,
+            @Parameter(example = "2022-01,2022-02") @RequestParam List<YearMonth> months) {
+        if (months.isEmpty() || months.size() > MAX_MONTHS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(cryptoRecsService.getStatisticsMatrix(symbols, months), HttpStatus.OK);
+    }
+
     @Operation(summary = "Find oldest/newest/min/max entry for given time period.")
     @GetMapping(value = {"/range-statistics", "/range-statistics/{symbol}"})
     @ResponseStatus(HttpStatus.OK)
@@ -95,4 +272,31 @@ public class CryptoRecsController {
         return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
+    @Operation(summary = "Get open/high/low/close price candles for given time period.",
+            description = "Returns candles of 1m, 1h, 1d or 1M interval starting within given period per symbol. Day and "
+                    + "month candles are precomputed by import, minute and hour candles are aggregated on request. "
+                    + "Symbols without candles are omitted. Period may span at most 10000 intervals.")
+    @GetMapping(value = {"/candles", "/candles/{symbol}"})
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CryptoPriceCandles>> getCandles(
+            @PathVariable Optional<String> symbol,
+            @Parameter(example = "1h") @RequestParam String interval,
+            @Parameter(example = "2022-01-08 00:00:00")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime from,
+            @Parameter(example = "2022-01-08 23:59:59")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime to) {
+        CandleInterval candleInterval;
+        try {
+            candleInterval = CandleInterval.of(interval);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (to.isBefore(from) || candleInterval.between(from, to) >= MAX_CANDLES) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CryptoPriceCandles> results = cryptoRecsService.getCandles(symbol, candleInterval, from, to);
+        return results.isEmpty()
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(results, HttpStatus.OK);
+    }
 }
@@ -0,0 +1,37 @@
+package org.hrabosch.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hrabosch.repository.RepositoryMetricsInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records number of repository calls made while handling request, tagged by request mapping.
+ */
+public class RepositoryCallsInterceptor implements HandlerInterceptor {
+
+    public static final String CALLS_SUMMARY = "crypto.repository.calls";
+
+    private MeterRegistry meterRegistry;
+
+    public RepositoryCallsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AtomicLong calls = (AtomicLong) request.getAttribute(RepositoryMetricsInterceptor.CALLS_ATTRIBUTE);
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(CALLS_SUMMARY)
+                .description("Repository calls per HTTP request")
+                .baseUnit("calls")
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(meterRegistry)
+                .record(calls == null ? 0 : calls.get());
+    }
+}
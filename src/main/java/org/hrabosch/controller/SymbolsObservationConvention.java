@@ -0,0 +1,20 @@
+package org.hrabosch.controller;
+
+import io.micrometer.common.KeyValues;
+import org.hrabosch.service.AnalyticsMetrics;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds bucket of symbol count processed by request to HTTP server request metrics. Requests served from cache or
+ * not computing analytics are tagged {@code none}.
+ */
+public class SymbolsObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object symbols = context.getCarrier().getAttribute(AnalyticsMetrics.SYMBOLS_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context)
+                .and("symbols", symbols == null ? AnalyticsMetrics.NO_SYMBOLS : symbols.toString());
+    }
+}
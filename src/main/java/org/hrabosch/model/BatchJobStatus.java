@@ -0,0 +1,45 @@
+package org.hrabosch.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact state of import job execution, read and write counts are totals over job steps. Import report is
+ * present once import step recorded its telemetry.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchJobStatus {
+
+    private static final String PARTITION_SEPARATOR = ":";
+
+    private Long executionId;
+    private String status;
+    private String exitCode;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long readCount;
+    private long writeCount;
+    private ImportReport importReport;
+
+    public static BatchJobStatus of(JobExecution jobExecution) {
+        long readCount = 0;
+        long writeCount = 0;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            // partition worker counts are already aggregated in manager step
+            if (!stepExecution.getStepName().contains(PARTITION_SEPARATOR)) {
+                readCount += stepExecution.getReadCount();
+                writeCount += stepExecution.getWriteCount();
+            }
+        }
+        return new BatchJobStatus(jobExecution.getId(), jobExecution.getStatus().name(),
+                jobExecution.getExitStatus().getExitCode(), jobExecution.getStartTime(), jobExecution.getEndTime(),
+                readCount, writeCount, ImportReport.of(jobExecution));
+    }
+}
@@ -3,22 +3,22 @@ package org.hrabosch.model;
 
 import java.sql.Timestamp;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.IdClass;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Price of symbol at timestamp as read from CSV files and returned by API, stored as {@link CryptoPriceRecord}.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Entity
-@IdClass(CryptoPriceId.class)
 public class CryptoPrice {
-    @Id
     private Timestamp timestamp;
-    @Id
     private String symbol;
     private Double price;
+
+    public CryptoPrice(long timestamp, String symbol, double price) {
+        this(new Timestamp(timestamp), symbol, price);
+    }
 }
@@ -0,0 +1,18 @@
+package org.hrabosch.model;
+
+/**
+ * Price summary of symbol, oldest and newest timestamps are epoch millis.
+ */
+public interface CryptoPriceAggregate {
+    String getSymbol();
+
+    Double getMinPrice();
+
+    Double getMaxPrice();
+
+    Long getOldest();
+
+    Long getNewest();
+
+    Long getPriceCount();
+}
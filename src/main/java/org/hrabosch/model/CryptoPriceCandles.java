@@ -0,0 +1,32 @@
+package org.hrabosch.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Candles of single symbol ordered by start, intervals without any price are omitted.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CryptoPriceCandles {
+    private String symbol;
+    private String interval;
+    private List<Candle> candles;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Candle {
+        private LocalDateTime start;
+        private Double open;
+        private Double high;
+        private Double low;
+        private Double close;
+        private Integer count;
+    }
+}
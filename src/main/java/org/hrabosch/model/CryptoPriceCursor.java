@@ -0,0 +1,36 @@
+package org.hrabosch.model;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in prices ordered by symbol and timestamp, encoded as opaque token for keyset pagination.
+ */
+@Value
+public class CryptoPriceCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private String symbol;
+    private long timestamp;
+
+    public static CryptoPriceCursor after(CryptoPrice cryptoPrice) {
+        return new CryptoPriceCursor(cryptoPrice.getSymbol(), cryptoPrice.getTimestamp().getTime());
+    }
+
+    public static CryptoPriceCursor decode(String token) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return new CryptoPriceCursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + String.valueOf(SEPARATOR) + symbol).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,19 @@
+package org.hrabosch.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Symbol with highest normalized price of given day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CryptoPriceDailyHighest {
+    private LocalDate date;
+    private String symbol;
+    private Double normalized;
+}
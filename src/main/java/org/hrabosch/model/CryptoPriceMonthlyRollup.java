@@ -0,0 +1,15 @@
+package org.hrabosch.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.IdClass;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Entity
+@IdClass(CryptoPriceRollupId.class)
+public class CryptoPriceMonthlyRollup extends CryptoPriceRollup {
+}
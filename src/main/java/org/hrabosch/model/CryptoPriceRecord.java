@@ -0,0 +1,38 @@
+package org.hrabosch.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Stored price keyed by symbol id and epoch millis timestamp. Index on symbol id and price covers per-symbol
+ * min/max lookups, so every index entry holds integer id instead of symbol name.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "crypto_price", indexes = @Index(name = "crypto_price_symbol_price", columnList = "symbol_id, price"))
+@IdClass(CryptoPriceId.class)
+public class CryptoPriceRecord {
+    @Id
+    @Column(name = "symbol_id")
+    private int symbolId;
+    @Id
+    private long timestamp;
+    private double price;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "symbol_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CryptoSymbol symbol;
+}
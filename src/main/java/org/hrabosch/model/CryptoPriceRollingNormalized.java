@@ -0,0 +1,21 @@
+package org.hrabosch.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Normalized range of trailing window ending at given timestamp.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CryptoPriceRollingNormalized {
+    private String symbol;
+    private LocalDateTime timestamp;
+    private Double normalized;
+    private Double minPrice;
+    private Double maxPrice;
+}
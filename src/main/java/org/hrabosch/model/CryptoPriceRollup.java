@@ -0,0 +1,26 @@
+package org.hrabosch.model;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@MappedSuperclass
+public abstract class CryptoPriceRollup {
+    @Id
+    private String symbol;
+    @Id
+    private LocalDate period;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double openPrice;
+    private Double closePrice;
+    private Timestamp oldest;
+    private Timestamp newest;
+    private Integer priceCount;
+}
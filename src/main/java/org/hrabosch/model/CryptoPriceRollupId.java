@@ -0,0 +1,15 @@
+package org.hrabosch.model;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+public class CryptoPriceRollupId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String symbol;
+    private LocalDate period;
+}
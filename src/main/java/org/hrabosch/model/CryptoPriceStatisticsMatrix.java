@@ -0,0 +1,38 @@
+package org.hrabosch.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Monthly statistics of symbols in columnar form, every column is indexed by position of symbol and then of month.
+ * Cells of months without prices of symbol are null.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CryptoPriceStatisticsMatrix {
+    private List<String> symbols;
+    private List<YearMonth> months;
+    private LocalDateTime[][] oldest;
+    private LocalDateTime[][] newest;
+    private Double[][] maxPrices;
+    private Double[][] minPrices;
+
+    public CryptoPriceStatisticsMatrix(List<String> symbols, List<YearMonth> months) {
+        this(symbols, months, new LocalDateTime[symbols.size()][months.size()],
+                new LocalDateTime[symbols.size()][months.size()], new Double[symbols.size()][months.size()],
+                new Double[symbols.size()][months.size()]);
+    }
+
+    public void set(int symbol, int month, LocalDateTime oldest, LocalDateTime newest, Double maxPrice, Double minPrice) {
+        this.oldest[symbol][month] = oldest;
+        this.newest[symbol][month] = newest;
+        this.maxPrices[symbol][month] = maxPrice;
+        this.minPrices[symbol][month] = minPrice;
+    }
+}
@@ -0,0 +1,25 @@
+package org.hrabosch.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dictionary entry giving symbol small integer id referenced by stored prices.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class CryptoSymbol {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    @Column(nullable = false, unique = true)
+    private String name;
+}
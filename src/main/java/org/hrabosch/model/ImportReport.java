@@ -0,0 +1,117 @@
+package org.hrabosch.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hrabosch.batching.ImportTelemetryListener;
+import org.hrabosch.batching.IngestLedgerListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Throughput of import step with time spent in its stages and rows and bytes read per input file. Stage times
+ * of partitioned import are summed over partitions, so they can exceed import duration.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000;
+    private static final double MILLIS_PER_SECOND = 1_000;
+
+    private long durationMillis;
+    private long rows;
+    private long bytes;
+    private double rowsPerSecond;
+    private double bytesPerSecond;
+    private Map<String, StageTiming> stages;
+    private List<FileImport> files;
+
+    /**
+     * Time spent in stage, count is number of items or chunks for {@code chunk} stage as counted by step execution.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StageTiming {
+        private long count;
+        private double totalMillis;
+        private double averageMillis;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FileImport {
+        private String fileName;
+        private long rows;
+        private long bytes;
+    }
+
+    /**
+     * Returns report of job execution, or null when none of its steps recorded import telemetry.
+     */
+    public static ImportReport of(JobExecution jobExecution) {
+        Map<String, Long> stageNanos = new TreeMap<>();
+        Map<String, Long> stageItems = new TreeMap<>();
+        Map<String, Long> fileRows = new TreeMap<>();
+        Map<String, Long> fileBytes = new TreeMap<>();
+        Duration duration = Duration.ZERO;
+        boolean recorded = false;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            ExecutionContext context = stepExecution.getExecutionContext();
+            if (context.containsKey(IngestLedgerListener.INGEST_PLAN) && stepExecution.getStartTime() != null) {
+                LocalDateTime endTime = stepExecution.getEndTime() != null ? stepExecution.getEndTime() : LocalDateTime.now();
+                duration = duration.plus(Duration.between(stepExecution.getStartTime(), endTime));
+            }
+            if (context.containsKey(ImportTelemetryListener.STAGE_NANOS)) {
+                recorded = true;
+                sum(stageNanos, context, ImportTelemetryListener.STAGE_NANOS);
+                stageItems.merge(ImportTelemetryListener.READ, stepExecution.getReadCount(), Long::sum);
+                stageItems.merge(ImportTelemetryListener.PROCESS, stepExecution.getReadCount(), Long::sum);
+                stageItems.merge(ImportTelemetryListener.WRITE, stepExecution.getWriteCount(), Long::sum);
+                stageItems.merge(ImportTelemetryListener.CHUNK, stepExecution.getCommitCount()
+                        + stepExecution.getRollbackCount(), Long::sum);
+                sum(fileRows, context, ImportTelemetryListener.FILE_ROWS);
+                sum(fileBytes, context, ImportTelemetryListener.FILE_BYTES);
+            }
+        }
+        if (!recorded) {
+            return null;
+        }
+        Map<String, StageTiming> stages = new TreeMap<>();
+        stageNanos.forEach((stage, nanos) -> {
+            long count = stageItems.getOrDefault(stage, 0L);
+            double totalMillis = nanos / NANOS_PER_MILLI;
+            stages.put(stage, new StageTiming(count, totalMillis, count == 0 ? 0 : totalMillis / count));
+        });
+        List<FileImport> files = new ArrayList<>();
+        TreeMap<String, Long> fileNames = new TreeMap<>(fileBytes);
+        fileRows.forEach(fileNames::putIfAbsent);
+        fileNames.keySet().forEach(file -> files.add(new FileImport(file, fileRows.getOrDefault(file, 0L),
+                fileBytes.getOrDefault(file, 0L))));
+        long rows = fileRows.values().stream().mapToLong(Long::longValue).sum();
+        long bytes = fileBytes.values().stream().mapToLong(Long::longValue).sum();
+        long durationMillis = duration.toMillis();
+        double seconds = durationMillis / MILLIS_PER_SECOND;
+        return new ImportReport(durationMillis, rows, bytes, seconds == 0 ? 0 : rows / seconds,
+                seconds == 0 ? 0 : bytes / seconds, stages, files);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void sum(Map<String, Long> totals, ExecutionContext context, String key) {
+        Map<String, Long> values = (Map<String, Long>) context.get(key);
+        if (values != null) {
+            values.forEach((name, value) -> totals.merge(name, value, Long::sum));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.hrabosch.model;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class IngestLedgerEntry {
+    @Id
+    private String fileName;
+    private long processedOffset;
+    private long fileSize;
+    private long lastModified;
+    private long checksum;
+    /**
+     * Spans of prices imported from file, so they can be deleted once file is rewritten.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    private List<IngestSpan> spans = new ArrayList<>();
+}
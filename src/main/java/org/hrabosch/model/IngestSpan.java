@@ -0,0 +1,32 @@
+package org.hrabosch.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Inclusive epoch millis timestamp span of prices of one symbol imported from input file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class IngestSpan implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String symbol;
+    private long firstTimestamp;
+    private long lastTimestamp;
+
+    /**
+     * Span covering both this span and given span of the same symbol.
+     */
+    public IngestSpan merge(IngestSpan other) {
+        return new IngestSpan(symbol, Math.min(firstTimestamp, other.firstTimestamp),
+                Math.max(lastTimestamp, other.lastTimestamp));
+    }
+}
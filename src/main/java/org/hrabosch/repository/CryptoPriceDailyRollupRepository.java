@@ -0,0 +1,34 @@
+package org.hrabosch.repository;
+
+import org.hrabosch.model.CryptoPriceDailyRollup;
+import org.hrabosch.model.CryptoPriceRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CryptoPriceDailyRollupRepository extends JpaRepository<CryptoPriceDailyRollup, CryptoPriceRollupId> {
+
+    /**
+     * Rollups of days between given ones, both inclusive, ordered by day and symbol.
+     */
+    @Query("SELECT r FROM CryptoPriceDailyRollup r WHERE r.symbol NOT IN :disabledSymbols "
+            + "AND r.period >= :from AND r.period <= :to ORDER BY r.period, r.symbol")
+    List<CryptoPriceDailyRollup> findBetween(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM CryptoPriceDailyRollup r WHERE r.symbol NOT IN :disabledSymbols AND r.symbol = :symbol "
+            + "AND r.period >= :from AND r.period <= :to ORDER BY r.period")
+    List<CryptoPriceDailyRollup> findBetween(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -0,0 +1,50 @@
+package org.hrabosch.repository;
+
+import org.hrabosch.model.CryptoPriceMonthlyRollup;
+import org.hrabosch.model.CryptoPriceRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CryptoPriceMonthlyRollupRepository extends JpaRepository<CryptoPriceMonthlyRollup, CryptoPriceRollupId> {
+
+    /**
+     * Rollups of given months, identified by their first day, ordered by symbol.
+     */
+    @Query("SELECT r FROM CryptoPriceMonthlyRollup r WHERE r.symbol NOT IN :disabledSymbols "
+            + "AND r.period IN :periods ORDER BY r.symbol")
+    List<CryptoPriceMonthlyRollup> findByPeriods(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("periods") Collection<LocalDate> periods);
+
+    @Query("SELECT r FROM CryptoPriceMonthlyRollup r WHERE r.symbol NOT IN :disabledSymbols AND r.symbol = :symbol "
+            + "AND r.period IN :periods ORDER BY r.period")
+    List<CryptoPriceMonthlyRollup> findByPeriods(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol,
+            @Param("periods") Collection<LocalDate> periods);
+
+    /**
+     * Rollups of months between given ones, identified by their first day, both inclusive, ordered by month and symbol.
+     */
+    @Query("SELECT r FROM CryptoPriceMonthlyRollup r WHERE r.symbol NOT IN :disabledSymbols "
+            + "AND r.period >= :from AND r.period <= :to ORDER BY r.period, r.symbol")
+    List<CryptoPriceMonthlyRollup> findBetween(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM CryptoPriceMonthlyRollup r WHERE r.symbol NOT IN :disabledSymbols AND r.symbol = :symbol "
+            + "AND r.period >= :from AND r.period <= :to ORDER BY r.period")
+    List<CryptoPriceMonthlyRollup> findBetween(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -1,31 +1,153 @@
 package org.hrabosch.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceAggregate;
+import org.hrabosch.model.CryptoPriceId;
+import org.hrabosch.model.CryptoPriceRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Prices are stored by symbol id and returned with symbol name joined from dictionary. Listings are ordered by
+ * symbol id, which follows primary key, and timestamp.
+ */
 @Repository
-public interface CryptoPriceRepository  extends JpaRepository<CryptoPrice, Long>, JpaSpecificationExecutor<CryptoPrice> {
+public interface CryptoPriceRepository  extends JpaRepository<CryptoPriceRecord, CryptoPriceId> {
 
-    @Query("SELECT symbol FROM CryptoPrice GROUP BY symbol")
-    List<String> findGroupBySymbolWithNativeQuery();
+    String AGGREGATE_SELECT = "SELECT s.name AS symbol, MIN(p.price) AS minPrice, MAX(p.price) AS maxPrice, "
+            + "MIN(p.timestamp) AS oldest, MAX(p.timestamp) AS newest, COUNT(p) AS priceCount "
+            + "FROM CryptoPriceRecord p JOIN p.symbol s ";
 
-    Optional<CryptoPrice> findFirstBySymbolOrderByPriceDesc(String symbol);
+    /**
+     * Cursor symbol is resolved to its id, ids start at 1, so empty symbol of first page precedes all prices.
+     */
+    String AFTER_SYMBOL_ID = "COALESCE((SELECT a.id FROM CryptoSymbol a WHERE a.name = :afterSymbol), 0)";
 
-    Optional<CryptoPrice> findFirstBySymbolOrderByPriceAsc(String symbol);
+    String KEYSET_AFTER = "(p.symbolId > " + AFTER_SYMBOL_ID + " OR (p.symbolId = " + AFTER_SYMBOL_ID
+            + " AND p.timestamp > :afterTimestamp)) ";
 
-    @Query("SELECT p FROM CryptoPrice p "
-            + "WHERE p.symbol = :symbol "
+    /**
+     * Prices are constructed, not managed entities, so persistence context does not grow with result size.
+     */
+    String PRICE_SELECT = "SELECT new org.hrabosch.model.CryptoPrice(p.timestamp, s.name, p.price) "
+            + "FROM CryptoPriceRecord p JOIN p.symbol s ";
+
+    String STREAM_FETCH_SIZE = "1000";
+
+    @Query(AGGREGATE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols "
+            + "GROUP BY s.name")
+    List<CryptoPriceAggregate> findAggregatesGroupBySymbol(
+            @Param("disabledSymbols") Collection<String> disabledSymbols);
+
+    /**
+     * Aggregates prices with epoch millis timestamp within given inclusive range.
+     */
+    @Query(AGGREGATE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols "
+            + "AND p.timestamp >= :from AND p.timestamp <= :to "
+            + "GROUP BY s.name")
+    List<CryptoPriceAggregate> findAggregatesGroupBySymbol(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("from") long from,
+            @Param("to") long to);
+
+    @Query(AGGREGATE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols AND s.name = :symbol "
+            + "GROUP BY s.name")
+    List<CryptoPriceAggregate> findAggregatesOfSymbol(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol);
+
+    /**
+     * Aggregates prices of symbol with epoch millis timestamp within given inclusive range.
+     */
+    @Query(AGGREGATE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols AND s.name = :symbol "
+            + "AND p.timestamp >= :from AND p.timestamp <= :to "
+            + "GROUP BY s.name")
+    List<CryptoPriceAggregate> findAggregatesOfSymbol(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol,
+            @Param("from") long from,
+            @Param("to") long to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(PRICE_SELECT
+            + "ORDER BY p.symbolId, p.timestamp")
+    Stream<CryptoPrice> streamAllPrices();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(PRICE_SELECT
+            + "WHERE s.name IN :symbols "
+            + "ORDER BY p.symbolId, p.timestamp")
+    Stream<CryptoPrice> streamPricesOf(@Param("symbols") Collection<String> symbols);
+
+    /**
+     * Deletes prices of symbol with epoch millis timestamp within given inclusive range.
+     */
+    @Modifying
+    @Query("DELETE FROM CryptoPriceRecord p "
+            + "WHERE p.symbolId IN (SELECT s.id FROM CryptoSymbol s WHERE s.name = :symbol) "
             + "AND p.timestamp >= :from AND p.timestamp <= :to")
-    List<CryptoPrice> findAllBySymbolAndTimestamp(
+    int deletePrices(
+            @Param("symbol") String symbol,
+            @Param("from") long from,
+            @Param("to") long to);
+
+    @Query(PRICE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols "
+            + "ORDER BY p.symbolId, p.timestamp")
+    List<CryptoPrice> findPrices(@Param("disabledSymbols") Collection<String> disabledSymbols);
+
+    @Query(PRICE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols AND s.name = :symbol "
+            + "ORDER BY p.timestamp")
+    List<CryptoPrice> findPricesBySymbol(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol);
+
+    @Query(PRICE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols AND " + KEYSET_AFTER
+            + "ORDER BY p.symbolId, p.timestamp")
+    List<CryptoPrice> findPageAfter(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("afterSymbol") String afterSymbol,
+            @Param("afterTimestamp") long afterTimestamp,
+            Pageable pageable);
+
+    @Query(PRICE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols AND s.name = :symbol AND " + KEYSET_AFTER
+            + "ORDER BY p.symbolId, p.timestamp")
+    List<CryptoPrice> findSymbolPageAfter(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
             @Param("symbol") String symbol,
-            @Param("from") Timestamp from,
-            @Param("to") Timestamp to);
+            @Param("afterSymbol") String afterSymbol,
+            @Param("afterTimestamp") long afterTimestamp,
+            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(PRICE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols "
+            + "ORDER BY p.symbolId, p.timestamp")
+    Stream<CryptoPrice> streamAll(@Param("disabledSymbols") Collection<String> disabledSymbols);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(PRICE_SELECT
+            + "WHERE s.name NOT IN :disabledSymbols AND s.name = :symbol "
+            + "ORDER BY p.timestamp")
+    Stream<CryptoPrice> streamBySymbol(
+            @Param("disabledSymbols") Collection<String> disabledSymbols,
+            @Param("symbol") String symbol);
 }
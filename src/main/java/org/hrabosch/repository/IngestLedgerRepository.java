@@ -0,0 +1,9 @@
+package org.hrabosch.repository;
+
+import org.hrabosch.model.IngestLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestLedgerRepository extends JpaRepository<IngestLedgerEntry, String> {
+}
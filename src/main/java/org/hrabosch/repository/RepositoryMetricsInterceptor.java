@@ -0,0 +1,97 @@
+package org.hrabosch.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Records time spent and number of rows returned by each repository method and counts repository calls of
+ * current HTTP request. Time of stream returning methods covers query execution only, rows are recorded once
+ * stream is closed.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    public static final String QUERY_TIMER = "crypto.repository.query";
+    public static final String ROWS_SUMMARY = "crypto.repository.rows";
+    public static final String CALLS_ATTRIBUTE = RepositoryMetricsInterceptor.class.getName() + ".calls";
+
+    private Supplier<MeterRegistry> meterRegistry;
+    private String repository;
+
+    public RepositoryMetricsInterceptor(Supplier<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        countCall();
+        String method = invocation.getMethod().getName();
+        MeterRegistry registry = meterRegistry.get();
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return recordRows(invocation.proceed(), rowsSummary(registry, method));
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(QUERY_TIMER)
+                    .description("Repository method invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    private DistributionSummary rowsSummary(MeterRegistry registry, String method) {
+        return DistributionSummary.builder(ROWS_SUMMARY)
+                .description("Rows returned by repository method")
+                .baseUnit("rows")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+    }
+
+    private static Object recordRows(Object result, DistributionSummary rows) {
+        if (result instanceof Stream<?> stream) {
+            AtomicLong count = new AtomicLong();
+            return stream.peek(row -> count.incrementAndGet()).onClose(() -> rows.record(count.get()));
+        }
+        if (result instanceof Collection<?> collection) {
+            rows.record(collection.size());
+        } else if (result instanceof Slice<?> slice) {
+            rows.record(slice.getNumberOfElements());
+        } else if (result instanceof Optional<?> optional) {
+            rows.record(optional.isPresent() ? 1 : 0);
+        } else {
+            rows.record(result == null ? 0 : 1);
+        }
+        return result;
+    }
+
+    private static void countCall() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return;
+        }
+        AtomicLong calls = (AtomicLong) requestAttributes.getAttribute(CALLS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (calls == null) {
+            calls = new AtomicLong();
+            requestAttributes.setAttribute(CALLS_ATTRIBUTE, calls, RequestAttributes.SCOPE_REQUEST);
+        }
+        calls.incrementAndGet();
+    }
+}
@@ -0,0 +1,71 @@
+package org.hrabosch.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Times analytics computations by method, aggregation path and bucket of processed symbol count. Bucket is also
+ * kept as request attribute, so HTTP request metrics can be tagged by it.
+ */
+@Component
+public class AnalyticsMetrics {
+
+    public static final String ANALYTICS_TIMER = "crypto.analytics";
+    public static final String SYMBOLS_ATTRIBUTE = AnalyticsMetrics.class.getName() + ".symbols";
+    public static final String STORE_PATH = "store";
+    public static final String DATASOURCE_PATH = "datasource";
+    public static final String NO_SYMBOLS = "none";
+
+    private static final int[] BUCKET_LIMITS = {1, 10, 100, 1000};
+
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public AnalyticsMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs computation and records its duration, symbol count is taken from computation result.
+     */
+    public <T> T time(String method, String path, Supplier<T> computation, ToIntFunction<T> symbolCount) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        T result = computation.get();
+        String symbols = symbolBucket(symbolCount.applyAsInt(result));
+        sample.stop(Timer.builder(ANALYTICS_TIMER)
+                .description("Analytics computation not served from cache")
+                .tag("method", method)
+                .tag("path", path)
+                .tag("symbols", symbols)
+                .register(meterRegistry));
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(SYMBOLS_ATTRIBUTE, symbols, RequestAttributes.SCOPE_REQUEST);
+        }
+        return result;
+    }
+
+    /**
+     * Returns low cardinality bucket of symbol count, e.g. {@code 2-10} or {@code 1001+}.
+     */
+    public static String symbolBucket(int symbols) {
+        if (symbols <= 0) {
+            return NO_SYMBOLS;
+        }
+        int lower = 1;
+        for (int limit : BUCKET_LIMITS) {
+            if (symbols <= limit) {
+                return lower == limit ? String.valueOf(limit) : lower + "-" + limit;
+            }
+            lower = limit + 1;
+        }
+        return lower + "+";
+    }
+}
@@ -0,0 +1,17 @@
+package org.hrabosch.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Analytics computation did not finish within configured timeout.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AnalyticsTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AnalyticsTimeoutException(String message) {
+        super(message);
+    }
+}
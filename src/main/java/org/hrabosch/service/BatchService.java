@@ -1,5 +1,7 @@
 package org.hrabosch.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.BatchJobStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionException;
@@ -9,32 +11,55 @@ import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.launch.NoSuchJobInstanceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.Optional;
+
 @Service
+@Slf4j
 public class BatchService {
+
+    private static final String JOB_NAME = "csvImportJob";
+
     private JobExplorer jobExplorer;
     private JobLauncher jobLauncher;
     private Job csvImportJob;
 
     @Autowired
-    public BatchService(JobExplorer jobExplorer, JobLauncher jobLauncher, Job csvImportJob) {
+    public BatchService(JobExplorer jobExplorer, @Qualifier("asyncJobLauncher") JobLauncher jobLauncher, Job csvImportJob) {
         this.jobExplorer = jobExplorer;
         this.jobLauncher = jobLauncher;
         this.csvImportJob = csvImportJob;
     }
 
-    public void triggerReload() throws JobExecutionException {
-        jobLauncher.run(csvImportJob, new JobParametersBuilder()
+    /**
+     * Launches import job in background, or joins import job execution which is already running.
+     */
+    public synchronized BatchJobStatus triggerReload() throws JobExecutionException {
+        Optional<JobExecution> running = jobExplorer.findRunningJobExecutions(JOB_NAME).stream()
+                .max(Comparator.comparing(JobExecution::getId));
+        if (running.isPresent()) {
+            log.info("Import job execution {} is already running, joining it.", running.get().getId());
+            return BatchJobStatus.of(running.get());
+        }
+        return BatchJobStatus.of(jobLauncher.run(csvImportJob, new JobParametersBuilder()
                 .addString("JobID", String.valueOf(System.currentTimeMillis()))
-                .toJobParameters());
+                .toJobParameters()));
+    }
+
+    public Optional<BatchJobStatus> getBatchProcess(long executionId) {
+        return Optional.ofNullable(jobExplorer.getJobExecution(executionId))
+                .filter(jobExecution -> JOB_NAME.equals(jobExecution.getJobInstance().getJobName()))
+                .map(BatchJobStatus::of);
     }
 
-    public JobExecution getLastBatchProcess() throws NoSuchJobInstanceException {
-        JobInstance lastJobInstance = jobExplorer.getLastJobInstance("csvImportJob");
+    public BatchJobStatus getLastBatchProcess() throws NoSuchJobInstanceException {
+        JobInstance lastJobInstance = jobExplorer.getLastJobInstance(JOB_NAME);
         if (lastJobInstance == null) {
             throw new NoSuchJobInstanceException("Cannot find CSV Import Job.");
         }
-        return jobExplorer.getLastJobExecution(lastJobInstance);
+        return BatchJobStatus.of(jobExplorer.getLastJobExecution(lastJobInstance));
     }
 }
@@ -1,189 +1,652 @@
 package org.hrabosch.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceAggregate;
+import org.hrabosch.model.CryptoPriceCandles;
 import org.hrabosch.model.CryptoPriceComputed;
+import org.hrabosch.model.CryptoPriceCursor;
+import org.hrabosch.model.CryptoPriceDailyHighest;
+import org.hrabosch.model.CryptoPriceRollingNormalized;
+import org.hrabosch.model.CryptoPriceRollup;
 import org.hrabosch.model.CryptoPriceStatistics;
+import org.hrabosch.model.CryptoPriceStatisticsMatrix;
+import org.hrabosch.repository.CryptoPriceDailyRollupRepository;
+import org.hrabosch.repository.CryptoPriceMonthlyRollupRepository;
 import org.hrabosch.repository.CryptoPriceRepository;
+import org.hrabosch.store.CandleInterval;
+import org.hrabosch.store.CryptoPriceStore;
+import org.hrabosch.store.NormalizedRanking;
+import org.hrabosch.store.PeriodRollups;
+import org.hrabosch.store.PriceCandle;
+import org.hrabosch.store.PriceSummary;
+import org.hrabosch.store.RollingMinMax;
+import org.hrabosch.store.RollupPeriod;
+import org.hrabosch.store.SymbolPriceSeries;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
 import java.util.List;
-import java.util.LongSummaryStatistics;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-import static java.time.temporal.TemporalAdjusters.firstDayOfMonth;
-import static java.time.temporal.TemporalAdjusters.lastDayOfMonth;
-import static org.hrabosch.repository.CryptoStatsSpecification.hasSymbol;
-import static org.hrabosch.repository.CryptoStatsSpecification.isBetweenTimestamps;
-import static org.hrabosch.repository.CryptoStatsSpecification.notIn;
+import static org.hrabosch.configuration.CacheConfiguration.CANDLES_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.NORMALIZED_ALL_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.NORMALIZED_DAYS_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.NORMALIZED_PAGE_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.NORMALIZED_TOP_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.RANGE_STATISTICS_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.STATISTICS_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.STATISTICS_MATRIX_CACHE;
 
 @Service
 @Slf4j
 public class CryptoRecsService {
 
+    private static final List<String> NO_DISABLED_SYMBOLS = List.of("");
+    private static final CryptoPriceCursor FIRST_PAGE = new CryptoPriceCursor("", 0);
+    private static final int MAX_ROLLING_RANGES = 1000;
+
     @Value("${disableSymbols:}#{T(java.util.Collections).emptyList()}")
     private List<String> disabledSymbols;
 
     private CryptoPriceRepository cryptoPriceRepository;
+    private CryptoPriceDailyRollupRepository dailyRollupRepository;
+    private CryptoPriceMonthlyRollupRepository monthlyRollupRepository;
+    private CryptoPriceStore cryptoPriceStore;
+    private SymbolFanOut symbolFanOut;
+    private AnalyticsMetrics analyticsMetrics;
+    private Cache<String, RollingNormalizedRange> rollingRanges = Caffeine.newBuilder()
+            .maximumSize(MAX_ROLLING_RANGES)
+            .build();
 
     @Autowired
-    public CryptoRecsService(CryptoPriceRepository cryptoPriceRepository) {
+    public CryptoRecsService(CryptoPriceRepository cryptoPriceRepository,
+                             CryptoPriceDailyRollupRepository dailyRollupRepository,
+                             CryptoPriceMonthlyRollupRepository monthlyRollupRepository,
+                             CryptoPriceStore cryptoPriceStore, SymbolFanOut symbolFanOut, AnalyticsMetrics analyticsMetrics) {
         this.cryptoPriceRepository = cryptoPriceRepository;
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.cryptoPriceStore = cryptoPriceStore;
+        this.symbolFanOut = symbolFanOut;
+        this.analyticsMetrics = analyticsMetrics;
     }
 
     public List<CryptoPrice> findAll() {
-        return cryptoPriceRepository.findAll(notIn(disabledSymbols));
+        return cryptoPriceRepository.findPrices(getDisabledSymbols());
     }
 
     public List<CryptoPrice> findBySymbol(String symbol) {
-        return cryptoPriceRepository.findAll(notIn(disabledSymbols).and(hasSymbol(symbol)));
+        return cryptoPriceRepository.findPricesBySymbol(getDisabledSymbols(), symbol);
     }
 
+    /**
+     * Returns up to limit prices ordered by symbol id and timestamp, following given cursor.
+     */
+    public List<CryptoPrice> findPage(Optional<String> symbol, Optional<CryptoPriceCursor> after, int limit) {
+        CryptoPriceCursor cursor = after.orElse(FIRST_PAGE);
+        PageRequest page = PageRequest.of(0, limit);
+        return symbol.isPresent()
+                ? cryptoPriceRepository.findSymbolPageAfter(getDisabledSymbols(), symbol.get(), cursor.getSymbol(),
+                        cursor.getTimestamp(), page)
+                : cryptoPriceRepository.findPageAfter(getDisabledSymbols(), cursor.getSymbol(), cursor.getTimestamp(), page);
+    }
+
+    /**
+     * Passes all allowed prices ordered by symbol id and timestamp to consumer as they are fetched from datasource.
+     */
+    @Transactional(readOnly = true)
+    public void streamPrices(Optional<String> symbol, Consumer<CryptoPrice> consumer) {
+        try (Stream<CryptoPrice> prices = symbol.isPresent()
+                ? cryptoPriceRepository.streamBySymbol(getDisabledSymbols(), symbol.get())
+                : cryptoPriceRepository.streamAll(getDisabledSymbols())) {
+            prices.forEach(consumer);
+        }
+    }
+
+    @Cacheable(NORMALIZED_ALL_CACHE)
     public List<CryptoPriceComputed> getAllNormalized(Sort.Direction sort) {
-        List<String> storedSymbols = getAllowedSymbols();
-        log.debug("Computing stats for following symbols: {}", storedSymbols);
-        List<CryptoPriceComputed> computedList = storedSymbols.stream()
-                .map(symbol -> {
-                    Double norm = computeNormalizedPriceForSymbol(symbol);
-                    return new CryptoPriceComputed(symbol, norm);
-                })
-                .collect(Collectors.toList());
+        return analyticsMetrics.time("getAllNormalized", getAggregationPath(),
+                () -> computeNormalized(sort, 0, Integer.MAX_VALUE), List::size);
+    }
 
-        computedList.sort((CryptoPriceComputed c1, CryptoPriceComputed c2) -> {
-            if (sort.isAscending()) {
-                return c1.getNormalized().compareTo(c2.getNormalized());
+    /**
+     * Page of symbols ordered by normalized price, skipping offset symbols.
+     */
+    @Cacheable(NORMALIZED_PAGE_CACHE)
+    public List<CryptoPriceComputed> getNormalizedPage(Sort.Direction sort, int offset, int limit) {
+        return analyticsMetrics.time("getNormalizedPage", getAggregationPath(),
+                () -> computeNormalized(sort, offset, limit), List::size);
+    }
+
+    private List<CryptoPriceComputed> computeNormalized(Sort.Direction sort, int offset, int limit) {
+        if (cryptoPriceStore.isLoaded()) {
+            return readRanking(cryptoPriceStore.getRanking(), sort, offset, limit);
+        }
+        return selectTop(cryptoPriceRepository.findAggregatesGroupBySymbol(getDisabledSymbols()).stream()
+                .map(CryptoRecsService::toComputed)
+                .collect(Collectors.toList()), sort, offset, limit);
+    }
+
+    private List<CryptoPriceComputed> readRanking(NormalizedRanking ranking, Sort.Direction sort, int offset, int limit) {
+        List<CryptoPriceComputed> results = new ArrayList<>(Math.min(limit, ranking.size()));
+        int skipped = 0;
+        for (int i = 0; i < ranking.size() && results.size() < limit; i++) {
+            int rank = sort.isAscending() ? i : ranking.size() - 1 - i;
+            String symbol = ranking.getSymbol(rank);
+            if (isDisabled(symbol)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
             } else {
-                return c2.getNormalized().compareTo(c1.getNormalized());
+                results.add(new CryptoPriceComputed(symbol, ranking.getNormalized(rank)));
             }
-        });
-        return computedList;
+        }
+        return results;
+    }
+
+    /**
+     * Selects page of computed prices by bounded heap keeping at most offset + limit best of them.
+     */
+    private static List<CryptoPriceComputed> selectTop(List<CryptoPriceComputed> computedList, Sort.Direction sort,
+                                                       int offset, int limit) {
+        Comparator<CryptoPriceComputed> order = Comparator.comparing(CryptoPriceComputed::getNormalized);
+        if (sort.isDescending()) {
+            order = order.reversed();
+        }
+        long bound = (long) offset + limit;
+        PriorityQueue<CryptoPriceComputed> heap = new PriorityQueue<>(order.reversed());
+        for (CryptoPriceComputed computed : computedList) {
+            heap.add(computed);
+            if (heap.size() > bound) {
+                heap.poll();
+            }
+        }
+        List<CryptoPriceComputed> results = new ArrayList<>(heap);
+        results.sort(order);
+        return offset >= results.size() ? new ArrayList<>() : new ArrayList<>(results.subList(offset, results.size()));
+    }
+
+    private String getAggregationPath() {
+        return cryptoPriceStore.isLoaded() ? AnalyticsMetrics.STORE_PATH : AnalyticsMetrics.DATASOURCE_PATH;
+    }
+
+    private List<String> getDisabledSymbols() {
+        return disabledSymbols == null || disabledSymbols.isEmpty() ? NO_DISABLED_SYMBOLS : disabledSymbols;
+    }
+
+    private void requireLoadedStore(String analytics) {
+        if (!cryptoPriceStore.isLoaded()) {
+            throw new StoreNotLoadedException(analytics + " are not available until crypto price store is loaded.");
+        }
+    }
+
+    private boolean isDisabled(String symbol) {
+        return disabledSymbols != null && disabledSymbols.contains(symbol);
     }
 
     private List<String> getAllowedSymbols() {
-        List<String> storedSymbols = cryptoPriceRepository.findGroupBySymbolWithNativeQuery();
+        List<String> storedSymbols = new ArrayList<>(cryptoPriceStore.getSymbols());
         if (disabledSymbols != null && !disabledSymbols.isEmpty()) {
             storedSymbols.removeAll(disabledSymbols);
         }
         return storedSymbols;
     }
 
-    private Double computeNormalizedPriceForSymbol(String symbol) throws ArithmeticException {
-        Double min = cryptoPriceRepository.findFirstBySymbolOrderByPriceAsc(symbol).get().getPrice();
-        Double max = cryptoPriceRepository.findFirstBySymbolOrderByPriceDesc(symbol).get().getPrice();
-        log.debug("Found min: {}, max:{} for symbol: {}", min, max, symbol);
-        return normalize(min, max);
-    }
-
+    @Cacheable(STATISTICS_CACHE)
     public List<CryptoPriceStatistics> getStatistics(Optional<String> symbol, Optional<LocalDate> yearMonth) {
         return symbol.isPresent()
-                ? List.of(getMonthStatisticsForSymbol(symbol.get(), yearMonth))
-                : getStatisticsForAllSymbols(yearMonth);
+                ? analyticsMetrics.time("getStatistics", getAggregationPath(),
+                        () -> List.of(getMonthStatisticsForSymbol(symbol.get(), yearMonth)), List::size)
+                : analyticsMetrics.time("getStatistics", getAggregationPath(),
+                        () -> getStatisticsForAllSymbols(yearMonth), List::size);
     }
 
     private List<CryptoPriceStatistics> getStatisticsForAllSymbols(Optional<LocalDate> yearMonth) {
-        List<String> symbols = getAllowedSymbols();
-        List<CryptoPriceStatistics> statistics = symbols.stream()
-                .map(symbol -> getMonthStatisticsForSymbol(symbol, yearMonth))
-                .collect(Collectors.toList());
-        return statistics;
+        if (!cryptoPriceStore.isLoaded()) {
+            if (yearMonth.isPresent()) {
+                List<LocalDate> months = List.of(RollupPeriod.MONTH.periodOf(yearMonth.get()));
+                return monthlyRollupRepository.findByPeriods(getDisabledSymbols(), months).stream()
+                        .map(CryptoRecsService::toStatistics)
+                        .collect(Collectors.toList());
+            }
+            return cryptoPriceRepository.findAggregatesGroupBySymbol(getDisabledSymbols()).stream()
+                    .map(CryptoRecsService::toStatistics)
+                    .collect(Collectors.toList());
+        }
+        return symbolFanOut.map(getAllowedSymbols(), symbol -> getMonthStatisticsForSymbol(symbol, yearMonth));
     }
 
     private CryptoPriceStatistics getMonthStatisticsForSymbol(String symbol, Optional<LocalDate> yearMonth) {
-        List<CryptoPrice> cryptoPrices;
+        if (isDisabled(symbol)) {
+            return findStatistics(Optional.empty(), symbol);
+        }
+        if (!cryptoPriceStore.isLoaded()) {
+            Optional<CryptoPriceStatistics> statistics = yearMonth.isPresent()
+                    ? monthlyRollupRepository.findByPeriods(getDisabledSymbols(), symbol,
+                            List.of(RollupPeriod.MONTH.periodOf(yearMonth.get()))).stream()
+                            .findFirst()
+                            .map(CryptoRecsService::toStatistics)
+                    : cryptoPriceRepository.findAggregatesOfSymbol(getDisabledSymbols(), symbol).stream()
+                            .findFirst()
+                            .map(CryptoRecsService::toStatistics);
+            return statistics.orElseGet(() -> findStatistics(Optional.empty(), symbol));
+        }
+        Optional<SymbolPriceSeries> series = cryptoPriceStore.getSeries(symbol);
+        Optional<PriceSummary> summary;
         if (yearMonth.isPresent()) {
-            Timestamp from = Timestamp.valueOf(yearMonth.get().with(firstDayOfMonth()).atStartOfDay());
-            Timestamp to = Timestamp.valueOf(yearMonth.get().with(lastDayOfMonth()).atStartOfDay());
-            cryptoPrices = cryptoPriceRepository.findAll(
-                    hasSymbol(symbol).and(isBetweenTimestamps(from, to)));
+            summary = series.flatMap(s -> s.getRollups(RollupPeriod.MONTH).find(yearMonth.get()));
         } else {
-            cryptoPrices = cryptoPriceRepository.findAll(hasSymbol(symbol));
+            summary = series.flatMap(SymbolPriceSeries::summarize);
+        }
+        return findStatistics(summary, symbol);
+    }
+
+    /**
+     * Statistics of every given symbol, or of all allowed symbols when none is given, and month. Loaded store reads
+     * monthly rollups of every symbol, otherwise prices of all symbols are aggregated by one grouped query per month.
+     */
+    @Cacheable(STATISTICS_MATRIX_CACHE)
+    public CryptoPriceStatisticsMatrix getStatisticsMatrix(Optional<List<String>> symbols, List<YearMonth> months) {
+        List<String> disabled = getDisabledSymbols();
+        Optional<List<String>> rows = symbols.map(list -> list.stream().distinct()
+                .filter(symbol -> !disabled.contains(symbol))
+                .collect(Collectors.toList()));
+        List<YearMonth> columns = months.stream().distinct().collect(Collectors.toList());
+        return analyticsMetrics.time("getStatisticsMatrix", getAggregationPath(),
+                () -> computeStatisticsMatrix(rows, columns), matrix -> matrix.getSymbols().size());
+    }
+
+    private CryptoPriceStatisticsMatrix computeStatisticsMatrix(Optional<List<String>> symbols, List<YearMonth> months) {
+        if (cryptoPriceStore.isLoaded()) {
+            List<String> rows = symbols.orElseGet(this::getAllowedSymbols);
+            CryptoPriceStatisticsMatrix matrix = new CryptoPriceStatisticsMatrix(rows, months);
+            List<PriceSummary[]> summaries = symbolFanOut.map(rows, symbol -> summarizeMonths(symbol, months));
+            for (int row = 0; row < rows.size(); row++) {
+                for (int column = 0; column < months.size(); column++) {
+                    PriceSummary summary = summaries.get(row)[column];
+                    if (summary != null) {
+                        matrix.set(row, column, toLocalDateTime(summary.getOldest()), toLocalDateTime(summary.getNewest()),
+                                summary.getMaxPrice(), summary.getMinPrice());
+                    }
+                }
+            }
+            return matrix;
         }
-        return findStatistics(cryptoPrices, symbol);
+        List<List<CryptoPriceAggregate>> aggregates = months.stream()
+                .map(month -> findAggregates(month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(LocalTime.MAX)))
+                .collect(Collectors.toList());
+        List<String> rows = symbols.orElseGet(() -> aggregates.stream()
+                .flatMap(List::stream)
+                .map(CryptoPriceAggregate::getSymbol)
+                .distinct()
+                .collect(Collectors.toList()));
+        Map<String, Integer> rowIndex = new HashMap<>();
+        IntStream.range(0, rows.size()).forEach(row -> rowIndex.put(rows.get(row), row));
+        CryptoPriceStatisticsMatrix matrix = new CryptoPriceStatisticsMatrix(rows, months);
+        for (int column = 0; column < months.size(); column++) {
+            for (CryptoPriceAggregate aggregate : aggregates.get(column)) {
+                Integer row = rowIndex.get(aggregate.getSymbol());
+                if (row != null) {
+                    matrix.set(row, column, toLocalDateTime(aggregate.getOldest()), toLocalDateTime(aggregate.getNewest()),
+                            aggregate.getMaxPrice(), aggregate.getMinPrice());
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Monthly rollup of symbol for every given month, null for months without prices.
+     */
+    private PriceSummary[] summarizeMonths(String symbol, List<YearMonth> months) {
+        PriceSummary[] summaries = new PriceSummary[months.size()];
+        cryptoPriceStore.getSeries(symbol).ifPresent(series -> {
+            PeriodRollups rollups = series.getRollups(RollupPeriod.MONTH);
+            for (int i = 0; i < summaries.length; i++) {
+                summaries[i] = rollups.find(months.get(i).atDay(1)).orElse(null);
+            }
+        });
+        return summaries;
     }
 
     private CryptoPriceStatistics getStatistics(String symbol, LocalDateTime from, LocalDateTime to) {
-        List<CryptoPrice> cryptoPrices = cryptoPriceRepository.findAll(hasSymbol(symbol)
-                .and(isBetweenTimestamps(Timestamp.valueOf(from), Timestamp.valueOf(to))));
-        return findStatistics(cryptoPrices, symbol);
+        if (isDisabled(symbol)) {
+            return findStatistics(Optional.empty(), symbol);
+        }
+        if (!cryptoPriceStore.isLoaded()) {
+            return cryptoPriceRepository.findAggregatesOfSymbol(getDisabledSymbols(), symbol,
+                            Timestamp.valueOf(from).getTime(), Timestamp.valueOf(to).getTime()).stream()
+                    .findFirst()
+                    .map(CryptoRecsService::toStatistics)
+                    .orElseGet(() -> findStatistics(Optional.empty(), symbol));
+        }
+        Optional<PriceSummary> summary = cryptoPriceStore.getSeries(symbol)
+                .flatMap(s -> s.summarize(toEpochMilli(from), toEpochMilli(to)));
+        return findStatistics(summary, symbol);
     }
 
 
-    private CryptoPriceStatistics findStatistics(List<CryptoPrice> cryptoPrices, String symbol) {
+    private CryptoPriceStatistics findStatistics(Optional<PriceSummary> summary, String symbol) {
         CryptoPriceStatistics statistics = new CryptoPriceStatistics();
         statistics.setSymbol(symbol);
-        if (cryptoPrices.isEmpty()) {
+        if (summary.isEmpty()) {
             return statistics;
         }
-        DoubleSummaryStatistics priceStatistics = cryptoPrices.stream()
-                .mapToDouble(CryptoPrice::getPrice)
-                .summaryStatistics();
-        LongSummaryStatistics timestampStatistics = cryptoPrices.stream()
-                .mapToLong(cp -> cp.getTimestamp().getTime())
-                .summaryStatistics();
-
-        statistics.setOldest(Instant.ofEpochMilli(timestampStatistics.getMin())
-                .atZone(ZoneId.systemDefault()).toLocalDateTime());
-        statistics.setNewest(Instant.ofEpochMilli(timestampStatistics.getMax())
-                .atZone(ZoneId.systemDefault()).toLocalDateTime());
-        statistics.setMaxPrice(priceStatistics.getMax());
-        statistics.setMinPrice(priceStatistics.getMin());
+        statistics.setOldest(toLocalDateTime(summary.get().getOldest()));
+        statistics.setNewest(toLocalDateTime(summary.get().getNewest()));
+        statistics.setMaxPrice(summary.get().getMaxPrice());
+        statistics.setMinPrice(summary.get().getMinPrice());
 
         return statistics;
     }
 
+    @Cacheable(RANGE_STATISTICS_CACHE)
     public List<CryptoPriceStatistics> getStatisticsForTimeRange(Optional<String> symbol, LocalDateTime from, LocalDateTime to) {
-        if (symbol.isPresent()) {
-            return List.of(getStatistics(symbol.get(), from, to));
+        return symbol.isPresent()
+                ? analyticsMetrics.time("getStatisticsForTimeRange", getAggregationPath(),
+                        () -> List.of(getStatistics(symbol.get(), from, to)), List::size)
+                : analyticsMetrics.time("getStatisticsForTimeRange", getAggregationPath(),
+                        () -> getStatisticsForAllSymbols(from, to), List::size);
+    }
+
+    private List<CryptoPriceStatistics> getStatisticsForAllSymbols(LocalDateTime from, LocalDateTime to) {
+        if (!cryptoPriceStore.isLoaded()) {
+            return findAggregates(from, to).stream()
+                    .map(CryptoRecsService::toStatistics)
+                    .collect(Collectors.toList());
         }
-        List<String> symbols = getAllowedSymbols();
-        List<CryptoPriceStatistics> statistics = symbols.stream()
-                .map(s -> getStatistics(s, from, to))
-                .collect(Collectors.toList());
-        return statistics;
+        return symbolFanOut.map(getAllowedSymbols(), s -> getStatistics(s, from, to));
     }
 
+    @Cacheable(NORMALIZED_TOP_CACHE)
     public Optional<CryptoPriceComputed> getHighestNormalize(LocalDate date) {
-        List<String> allowed = getAllowedSymbols();
-        Timestamp from = Timestamp.valueOf(date.atTime(LocalTime.MIN));
-        Timestamp to = Timestamp.valueOf(date.atTime(LocalTime.MAX));
-
-        Optional<CryptoPriceComputed> cryptoPriceComputed = allowed.stream()
-                .map(symbol -> computeNormalizedForTimeRange(symbol, from, to))
-                .collect(Collectors.toList())
+        return analyticsMetrics.time("getHighestNormalize", getAggregationPath(), () -> computeNormalizedOfDay(date), List::size)
                 .stream()
-                .filter(Objects::nonNull)
                 .max(Comparator.comparing(CryptoPriceComputed::getNormalized));
-        return cryptoPriceComputed;
     }
 
-    private CryptoPriceComputed computeNormalizedForTimeRange(String symbol, Timestamp from, Timestamp to)
+    /**
+     * Symbol with highest normalized price for every day between given days, both inclusive. Days are read from
+     * daily rollups of store, or from persisted daily rollups of whole range read by single query, and merged across
+     * symbols.
+     * Days without prices are omitted.
+     */
+    @Cacheable(NORMALIZED_DAYS_CACHE)
+    public List<CryptoPriceDailyHighest> getHighestNormalizeOfDays(LocalDate from, LocalDate to) {
+        return analyticsMetrics.time("getHighestNormalizeOfDays", getAggregationPath(),
+                () -> computeHighestNormalizeOfDays(from, to), List::size);
+    }
+
+    private List<CryptoPriceDailyHighest> computeHighestNormalizeOfDays(LocalDate from, LocalDate to) {
+        CryptoPriceDailyHighest[] highest = new CryptoPriceDailyHighest[(int) ChronoUnit.DAYS.between(from, to) + 1];
+        if (cryptoPriceStore.isLoaded()) {
+            List<String> symbols = getAllowedSymbols();
+            List<double[]> normalized = symbolFanOut.map(symbols, symbol -> normalizeDays(symbol, from, highest.length));
+            for (int i = 0; i < symbols.size(); i++) {
+                for (int day = 0; day < highest.length; day++) {
+                    offerHighest(highest, from, day, symbols.get(i), normalized.get(i)[day]);
+                }
+            }
+        } else {
+            dailyRollupRepository.findBetween(getDisabledSymbols(), from, to).forEach(rollup -> offerHighest(highest, from,
+                    (int) ChronoUnit.DAYS.between(from, rollup.getPeriod()), rollup.getSymbol(),
+                    normalize(rollup.getMinPrice(), rollup.getMaxPrice())));
+        }
+        return Arrays.stream(highest).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Normalized price of every day of symbol starting with given one, NaN for days without prices.
+     */
+    private double[] normalizeDays(String symbol, LocalDate from, int days) {
+        double[] normalized = new double[days];
+        Arrays.fill(normalized, Double.NaN);
+        cryptoPriceStore.getSeries(symbol).ifPresent(series -> {
+            PeriodRollups rollups = series.getRollups(RollupPeriod.DAY);
+            for (int i = rollups.indexOf(from); i < rollups.size(); i++) {
+                long day = ChronoUnit.DAYS.between(from, rollups.getPeriod(i));
+                if (day >= days) {
+                    break;
+                }
+                PriceSummary summary = rollups.get(i);
+                normalized[(int) day] = normalize(summary.getMinPrice(), summary.getMaxPrice());
+            }
+        });
+        return normalized;
+    }
+
+    private static void offerHighest(CryptoPriceDailyHighest[] highest, LocalDate from, int day, String symbol,
+                                     double normalized) {
+        if (!Double.isNaN(normalized) && (highest[day] == null || normalized > highest[day].getNormalized())) {
+            highest[day] = new CryptoPriceDailyHighest(from.plusDays(day), symbol, normalized);
+        }
+    }
+
+    private List<CryptoPriceComputed> computeNormalizedOfDay(LocalDate date) {
+        if (!cryptoPriceStore.isLoaded()) {
+            return dailyRollupRepository.findBetween(getDisabledSymbols(), date, date).stream()
+                    .map(rollup -> new CryptoPriceComputed(rollup.getSymbol(), normalize(rollup.getMinPrice(),
+                            rollup.getMaxPrice())))
+                    .collect(Collectors.toList());
+        }
+        return symbolFanOut.map(getAllowedSymbols(), symbol -> computeNormalizedForDay(symbol, date))
+                .stream()
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<CryptoPriceComputed> computeNormalizedForDay(String symbol, LocalDate date)
             throws ArithmeticException {
-        List<CryptoPrice> cryptoPrices = cryptoPriceRepository.findAllBySymbolAndTimestamp(symbol, from, to);
-        if (cryptoPrices.isEmpty()) {
-            return null;
+        if (isDisabled(symbol)) {
+            return Optional.empty();
+        }
+        return cryptoPriceStore.getSeries(symbol)
+                .flatMap(series -> series.getRollups(RollupPeriod.DAY).find(date))
+                .map(summary -> new CryptoPriceComputed(symbol, normalize(summary.getMinPrice(), summary.getMaxPrice())));
+    }
+
+    /**
+     * Highest normalized range of trailing window per symbol, ordered from the highest. Sliding window of every symbol
+     * and window is kept between calls, so only prices appended since previous call are evaluated. Ranges are computed
+     * from store only.
+     */
+    public List<CryptoPriceRollingNormalized> getHighestRollingNormalized(Duration window) {
+        requireLoadedStore("Rolling normalized ranges");
+        return analyticsMetrics.time("getHighestRollingNormalized", AnalyticsMetrics.STORE_PATH,
+                        () -> symbolFanOut.map(getAllowedSymbols(), symbol -> computeHighestRollingNormalized(symbol, window)),
+                        List::size)
+                .stream()
+                .flatMap(Optional::stream)
+                .sorted(Comparator.comparing(CryptoPriceRollingNormalized::getNormalized).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private Optional<CryptoPriceRollingNormalized> computeHighestRollingNormalized(String symbol, Duration window) {
+        return cryptoPriceStore.getSeries(symbol)
+                .flatMap(series -> rollingRanges.get(symbol + ":" + window.toMillis(),
+                        key -> new RollingNormalizedRange(window.toMillis())).update(series));
+    }
+
+    /**
+     * Normalized range of trailing window evaluated at every price of symbol within given time range, computed from
+     * store only. Empty for unknown or disabled symbol.
+     */
+    public List<CryptoPriceRollingNormalized> getRollingNormalized(String symbol, Duration window, LocalDateTime from,
+                                                                   LocalDateTime to) {
+        requireLoadedStore("Rolling normalized ranges");
+        return analyticsMetrics.time("getRollingNormalized", AnalyticsMetrics.STORE_PATH,
+                () -> computeRollingNormalized(symbol, window, from, to), results -> results.isEmpty() ? 0 : 1);
+    }
+
+    private List<CryptoPriceRollingNormalized> computeRollingNormalized(String symbol, Duration window,
+                                                                        LocalDateTime from, LocalDateTime to) {
+        Optional<SymbolPriceSeries> series = cryptoPriceStore.getSeries(symbol);
+        if (series.isEmpty() || isDisabled(symbol)) {
+            return List.of();
+        }
+        long start = toEpochMilli(from);
+        int end = series.get().upperBound(toEpochMilli(to));
+        RollingMinMax rollingMinMax = new RollingMinMax(window.toMillis());
+        List<CryptoPriceRollingNormalized> results = new ArrayList<>();
+        for (int i = series.get().upperBound(start - window.toMillis()); i < end; i++) {
+            long timestamp = series.get().getTimestamp(i);
+            rollingMinMax.push(timestamp, series.get().getPrice(i));
+            if (timestamp >= start) {
+                results.add(new CryptoPriceRollingNormalized(symbol, toLocalDateTime(timestamp),
+                        normalize(rollingMinMax.getMin(), rollingMinMax.getMax()),
+                        rollingMinMax.getMin(), rollingMinMax.getMax()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Candles of given interval starting within given time range per symbol, symbols without candles are omitted.
+     * Candles are computed from store, day and month candles are read from persisted rollups while store is not loaded.
+     */
+    @Cacheable(value = CANDLES_CACHE, unless = "#result.isEmpty()")
+    public List<CryptoPriceCandles> getCandles(Optional<String> symbol, CandleInterval interval, LocalDateTime from,
+                                               LocalDateTime to) {
+        return analyticsMetrics.time("getCandles", getAggregationPath(), () -> computeCandles(symbol, interval, from, to),
+                List::size);
+    }
+
+    private List<CryptoPriceCandles> computeCandles(Optional<String> symbol, CandleInterval interval, LocalDateTime from,
+                                                    LocalDateTime to) {
+        if (!cryptoPriceStore.isLoaded()) {
+            return findCandles(symbol, interval, from, to);
         }
-        DoubleSummaryStatistics priceStats = cryptoPrices.stream()
-                .mapToDouble(CryptoPrice::getPrice)
-                .summaryStatistics();
-        Double max = priceStats.getMax();
-        Double min = priceStats.getMin();
-        return new CryptoPriceComputed(symbol, normalize(min, max));
+        if (symbol.isPresent() && isDisabled(symbol.get())) {
+            return List.of();
+        }
+        List<CryptoPriceCandles> candles = symbol.isPresent()
+                ? List.of(getCandles(symbol.get(), interval, from, to))
+                : symbolFanOut.map(getAllowedSymbols(), s -> getCandles(s, interval, from, to));
+        return candles.stream()
+                .filter(symbolCandles -> !symbolCandles.getCandles().isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private CryptoPriceCandles getCandles(String symbol, CandleInterval interval, LocalDateTime from, LocalDateTime to) {
+        List<CryptoPriceCandles.Candle> candles = cryptoPriceStore.getSeries(symbol)
+                .map(series -> series.candles(interval, toEpochMilli(from), toEpochMilli(to)))
+                .orElse(List.of())
+                .stream()
+                .map(CryptoRecsService::toCandle)
+                .collect(Collectors.toList());
+        return new CryptoPriceCandles(symbol, interval.getCode(), candles);
+    }
+
+    /**
+     * Candles read from persisted daily or monthly rollups, ordered by symbol.
+     */
+    private List<CryptoPriceCandles> findCandles(Optional<String> symbol, CandleInterval interval, LocalDateTime from,
+                                                 LocalDateTime to) {
+        RollupPeriod period = interval.getRollupPeriod();
+        if (period == null) {
+            throw new StoreNotLoadedException("Candles of " + interval.getCode() + " interval are not available until "
+                    + "crypto price store is loaded.");
+        }
+        long start = toEpochMilli(from);
+        long end = toEpochMilli(to);
+        Map<String, List<CryptoPriceCandles.Candle>> candles = new TreeMap<>();
+        for (CryptoPriceRollup rollup : findRollups(symbol, period, period.periodOf(start), period.periodOf(end))) {
+            long periodStart = period.startOf(rollup.getPeriod());
+            if (periodStart >= start && periodStart <= end) {
+                candles.computeIfAbsent(rollup.getSymbol(), s -> new ArrayList<>()).add(toCandle(rollup, periodStart));
+            }
+        }
+        return candles.entrySet().stream()
+                .map(entry -> new CryptoPriceCandles(entry.getKey(), interval.getCode(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private List<? extends CryptoPriceRollup> findRollups(Optional<String> symbol, RollupPeriod period, LocalDate from,
+                                                          LocalDate to) {
+        if (period == RollupPeriod.DAY) {
+            return symbol.isPresent()
+                    ? dailyRollupRepository.findBetween(getDisabledSymbols(), symbol.get(), from, to)
+                    : dailyRollupRepository.findBetween(getDisabledSymbols(), from, to);
+        }
+        return symbol.isPresent()
+                ? monthlyRollupRepository.findBetween(getDisabledSymbols(), symbol.get(), from, to)
+                : monthlyRollupRepository.findBetween(getDisabledSymbols(), from, to);
+    }
+
+    private List<CryptoPriceAggregate> findAggregates(LocalDateTime from, LocalDateTime to) {
+        return cryptoPriceRepository.findAggregatesGroupBySymbol(
+                getDisabledSymbols(), Timestamp.valueOf(from).getTime(), Timestamp.valueOf(to).getTime());
+    }
+
+    private static CryptoPriceComputed toComputed(CryptoPriceAggregate aggregate) {
+        return new CryptoPriceComputed(aggregate.getSymbol(), normalize(aggregate.getMinPrice(), aggregate.getMaxPrice()));
+    }
+
+    private static CryptoPriceStatistics toStatistics(CryptoPriceAggregate aggregate) {
+        return new CryptoPriceStatistics(aggregate.getSymbol(),
+                new Timestamp(aggregate.getOldest()).toLocalDateTime(),
+                new Timestamp(aggregate.getNewest()).toLocalDateTime(),
+                aggregate.getMaxPrice(),
+                aggregate.getMinPrice());
+    }
+
+    private static CryptoPriceStatistics toStatistics(CryptoPriceRollup rollup) {
+        return new CryptoPriceStatistics(rollup.getSymbol(),
+                rollup.getOldest().toLocalDateTime(),
+                rollup.getNewest().toLocalDateTime(),
+                rollup.getMaxPrice(),
+                rollup.getMinPrice());
+    }
+
+    private static CryptoPriceCandles.Candle toCandle(CryptoPriceRollup rollup, long start) {
+        return new CryptoPriceCandles.Candle(toLocalDateTime(start), rollup.getOpenPrice(), rollup.getMaxPrice(),
+                rollup.getMinPrice(), rollup.getClosePrice(), rollup.getPriceCount());
+    }
+
+    private static CryptoPriceCandles.Candle toCandle(PriceCandle candle) {
+        return new CryptoPriceCandles.Candle(toLocalDateTime(candle.getStart()), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getCount());
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime toLocalDateTime(long timestamp) {
+        return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
 
     public static double normalize(double min, double max) {
-        return (max - min) / min;
+        return NormalizedRanking.normalize(min, max);
     }
 }
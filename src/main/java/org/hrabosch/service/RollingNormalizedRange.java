@@ -0,0 +1,53 @@
+package org.hrabosch.service;
+
+import org.hrabosch.model.CryptoPriceRollingNormalized;
+import org.hrabosch.store.RollingMinMax;
+import org.hrabosch.store.SymbolPriceSeries;
+
+import java.util.Optional;
+
+/**
+ * Highest normalized range of trailing window of single symbol, evaluated at every price. Keeps sliding window
+ * between updates, so prices appended to series since last update are the only ones evaluated, series changed
+ * otherwise is evaluated again from its start.
+ */
+public class RollingNormalizedRange {
+
+    private long window;
+    private RollingMinMax rollingMinMax;
+    private long revision;
+    private int evaluated;
+    private double highest = Double.NaN;
+    private long timestamp;
+    private double minPrice;
+    private double maxPrice;
+
+    public RollingNormalizedRange(long window) {
+        this.window = window;
+    }
+
+    /**
+     * Evaluates prices of given series not evaluated yet and returns highest normalized range, empty for empty series.
+     */
+    public synchronized Optional<CryptoPriceRollingNormalized> update(SymbolPriceSeries series) {
+        if (rollingMinMax == null || !series.isAppendOf(revision)) {
+            rollingMinMax = new RollingMinMax(window);
+            evaluated = 0;
+            highest = Double.NaN;
+        }
+        for (int i = evaluated; i < series.size(); i++) {
+            rollingMinMax.push(series.getTimestamp(i), series.getPrice(i));
+            double normalized = CryptoRecsService.normalize(rollingMinMax.getMin(), rollingMinMax.getMax());
+            if (Double.isNaN(highest) || normalized > highest) {
+                highest = normalized;
+                timestamp = series.getTimestamp(i);
+                minPrice = rollingMinMax.getMin();
+                maxPrice = rollingMinMax.getMax();
+            }
+        }
+        evaluated = series.size();
+        revision = series.getRevision();
+        return Double.isNaN(highest) ? Optional.empty() : Optional.of(new CryptoPriceRollingNormalized(series.getSymbol(),
+                CryptoRecsService.toLocalDateTime(timestamp), highest, minPrice, maxPrice));
+    }
+}
@@ -0,0 +1,17 @@
+package org.hrabosch.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Analytics computed only from store were requested before store was loaded.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StoreNotLoadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StoreNotLoadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,85 @@
+package org.hrabosch.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs per-symbol computation concurrently. Symbols are split into at most parallelism slices, so one request never
+ * occupies more than parallelism executor threads, and whole request has to finish within timeout.
+ */
+public class SymbolFanOut {
+
+    private ExecutorService executor;
+    private int parallelism;
+    private Duration timeout;
+
+    public SymbolFanOut(ExecutorService executor, int parallelism, Duration timeout) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Applies task to every symbol, results are returned in order of symbols. Slices still running when request times
+     * out are interrupted and stop before their next symbol.
+     */
+    public <T> List<T> map(List<String> symbols, Function<String, T> task) {
+        int slices = Math.min(parallelism, symbols.size());
+        if (slices <= 1) {
+            return mapSlice(symbols, task);
+        }
+        List<Future<List<T>>> futures = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            List<String> sliceSymbols = symbols.subList(slice * symbols.size() / slices, (slice + 1) * symbols.size() / slices);
+            futures.add(executor.submit(() -> mapSlice(sliceSymbols, task)));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<T> results = new ArrayList<>(symbols.size());
+        try {
+            for (Future<List<T>> future : futures) {
+                results.addAll(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            cancel(futures);
+            throw new AnalyticsTimeoutException("Computation for " + symbols.size() + " symbols exceeded " + timeout);
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new AnalyticsTimeoutException("Computation for " + symbols.size() + " symbols was interrupted");
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> List<T> mapSlice(List<String> symbols, Function<String, T> task) {
+        List<T> results = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Computation was cancelled before " + symbol);
+            }
+            results.add(task.apply(symbol));
+        }
+        return results;
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
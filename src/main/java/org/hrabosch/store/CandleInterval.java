@@ -0,0 +1,73 @@
+package org.hrabosch.store;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Interval of price candles. Day and month candles are precomputed in {@link PeriodRollups}, minute and hour ones
+ * are aggregated from price series when requested.
+ */
+public enum CandleInterval {
+    MINUTE("1m", ChronoUnit.MINUTES, null),
+    HOUR("1h", ChronoUnit.HOURS, null),
+    DAY("1d", ChronoUnit.DAYS, RollupPeriod.DAY),
+    MONTH("1M", ChronoUnit.MONTHS, RollupPeriod.MONTH);
+
+    private final String code;
+    private final ChronoUnit unit;
+    private final RollupPeriod rollupPeriod;
+
+    CandleInterval(String code, ChronoUnit unit, RollupPeriod rollupPeriod) {
+        this.code = code;
+        this.unit = unit;
+        this.rollupPeriod = rollupPeriod;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Rollup period of precomputed candles, null when candles are aggregated from series.
+     */
+    public RollupPeriod getRollupPeriod() {
+        return rollupPeriod;
+    }
+
+    /**
+     * Start of interval containing given timestamp.
+     */
+    public long startOf(long timestamp) {
+        if (rollupPeriod != null) {
+            return rollupPeriod.startOf(rollupPeriod.periodOf(timestamp));
+        }
+        return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).truncatedTo(unit).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Start of interval following the one starting at given timestamp.
+     */
+    public long next(long start) {
+        if (rollupPeriod != null) {
+            return rollupPeriod.startOf(rollupPeriod.next(rollupPeriod.periodOf(start)));
+        }
+        return start + unit.getDuration().toMillis();
+    }
+
+    /**
+     * Number of whole intervals between given times.
+     */
+    public long between(LocalDateTime from, LocalDateTime to) {
+        return unit.between(from, to);
+    }
+
+    public static CandleInterval of(String code) {
+        return Arrays.stream(values())
+                .filter(interval -> interval.code.equals(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown candle interval: " + code));
+    }
+}
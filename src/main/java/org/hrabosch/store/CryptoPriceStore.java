@@ -0,0 +1,158 @@
+package org.hrabosch.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.CryptoPrice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Read optimized in-memory copy of stored prices, kept as per-symbol columnar series.
+ * Readers always see consistent snapshot, writers stage prices and publish them by {@link #commit()}.
+ */
+@Component
+@Slf4j
+public class CryptoPriceStore {
+
+    private final PriceKernel kernel;
+
+    private volatile SortedMap<String, SymbolPriceSeries> series = Collections.emptySortedMap();
+
+    private volatile NormalizedRanking ranking = NormalizedRanking.EMPTY;
+
+    private volatile boolean loaded;
+
+    private final Map<String, SeriesBuffer> staged = new HashMap<>();
+
+    private final Map<String, Long> changes = new HashMap<>();
+
+    public CryptoPriceStore() {
+        this(PriceKernels.scalar());
+    }
+
+    @Autowired
+    public CryptoPriceStore(PriceKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    public Set<String> getSymbols() {
+        return series.keySet();
+    }
+
+    public Optional<SymbolPriceSeries> getSeries(String symbol) {
+        return Optional.ofNullable(series.get(symbol));
+    }
+
+    /**
+     * Ranking of all symbols by normalized price, updated by every commit.
+     */
+    public NormalizedRanking getRanking() {
+        return ranking;
+    }
+
+    public boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    /**
+     * Whether store has been populated by import or from datasource at least once.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void stage(Iterable<? extends CryptoPrice> cryptoPrices) {
+        for (CryptoPrice cryptoPrice : cryptoPrices) {
+            staged.computeIfAbsent(cryptoPrice.getSymbol(), symbol -> new SeriesBuffer())
+                    .add(cryptoPrice.getTimestamp().getTime(), cryptoPrice.getPrice());
+        }
+    }
+
+    public synchronized void commit() {
+        loaded = true;
+        if (staged.isEmpty()) {
+            return;
+        }
+        SortedMap<String, SymbolPriceSeries> updated = new TreeMap<>(series);
+        Map<String, SymbolPriceSeries> changed = new HashMap<>();
+        staged.forEach((symbol, buffer) -> {
+            buffer.sortDistinct();
+            changes.merge(symbol, buffer.getTimestamps()[0], Math::min);
+            SymbolPriceSeries merged = updated.getOrDefault(symbol, SymbolPriceSeries.empty(kernel, symbol))
+                    .merge(buffer.getTimestamps(), buffer.getPrices());
+            updated.put(symbol, merged);
+            changed.put(symbol, merged);
+        });
+        log.debug("Committed staged prices for symbols: {}", staged.keySet());
+        staged.clear();
+        series = Collections.unmodifiableSortedMap(updated);
+        ranking = ranking.update(changed);
+    }
+
+    /**
+     * Drops staged prices without publishing them.
+     */
+    public synchronized void discard() {
+        log.debug("Discarded staged prices for symbols: {}", staged.keySet());
+        staged.clear();
+    }
+
+    /**
+     * Returns earliest changed timestamp per symbol committed since last call.
+     */
+    public synchronized Map<String, Long> drainChanges() {
+        Map<String, Long> drained = new HashMap<>(changes);
+        changes.clear();
+        return drained;
+    }
+
+    /**
+     * Replaces series of given symbols by given prices of those symbols, symbols left without price are removed.
+     * Prices staged for other symbols stay staged.
+     */
+    public synchronized void replace(Collection<String> symbols, Iterable<? extends CryptoPrice> cryptoPrices) {
+        Map<String, SeriesBuffer> buffers = new HashMap<>();
+        for (CryptoPrice cryptoPrice : cryptoPrices) {
+            buffers.computeIfAbsent(cryptoPrice.getSymbol(), symbol -> new SeriesBuffer())
+                    .add(cryptoPrice.getTimestamp().getTime(), cryptoPrice.getPrice());
+        }
+        SortedMap<String, SymbolPriceSeries> updated = new TreeMap<>(series);
+        Map<String, SymbolPriceSeries> changed = new HashMap<>();
+        for (String symbol : symbols) {
+            SymbolPriceSeries previous = updated.remove(symbol);
+            SymbolPriceSeries replaced = SymbolPriceSeries.empty(kernel, symbol);
+            SeriesBuffer buffer = buffers.get(symbol);
+            if (buffer != null) {
+                buffer.sortDistinct();
+                replaced = replaced.merge(buffer.getTimestamps(), buffer.getPrices());
+                updated.put(symbol, replaced);
+            }
+            if (previous != null && previous.size() > 0) {
+                changes.merge(symbol, previous.getTimestamp(0), Math::min);
+            }
+            if (replaced.size() > 0) {
+                changes.merge(symbol, replaced.getTimestamp(0), Math::min);
+            }
+            changed.put(symbol, replaced);
+        }
+        log.debug("Replaced prices of symbols: {}", symbols);
+        series = Collections.unmodifiableSortedMap(updated);
+        ranking = ranking.update(changed);
+    }
+
+    public synchronized void reload(Iterable<? extends CryptoPrice> cryptoPrices) {
+        staged.clear();
+        series = Collections.emptySortedMap();
+        ranking = NormalizedRanking.EMPTY;
+        stage(cryptoPrices);
+        commit();
+    }
+}
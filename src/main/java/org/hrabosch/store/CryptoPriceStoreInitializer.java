@@ -0,0 +1,72 @@
+package org.hrabosch.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.IngestSpan;
+import org.hrabosch.repository.CryptoPriceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads store from datasource. Prices are streamed into store, so only its columnar series are held in memory.
+ * Prices deleted from datasource are removed from store by rebuilding series of their symbols only.
+ */
+@Component
+@Slf4j
+public class CryptoPriceStoreInitializer {
+
+    private CryptoPriceRepository cryptoPriceRepository;
+    private CryptoPriceStore cryptoPriceStore;
+
+    @Autowired
+    public CryptoPriceStoreInitializer(CryptoPriceRepository cryptoPriceRepository, CryptoPriceStore cryptoPriceStore) {
+        this.cryptoPriceRepository = cryptoPriceRepository;
+        this.cryptoPriceStore = cryptoPriceStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void loadStore() {
+        if (cryptoPriceStore.isLoaded()) {
+            return;
+        }
+        log.info("Loading crypto price store from datasource.");
+        reload();
+    }
+
+    /**
+     * Deletes stored prices within given spans and rebuilds series of their symbols from remaining prices.
+     */
+    @Transactional
+    public void deletePrices(Collection<IngestSpan> spans) {
+        int deleted = spans.stream()
+                .mapToInt(span -> cryptoPriceRepository.deletePrices(span.getSymbol(), span.getFirstTimestamp(),
+                        span.getLastTimestamp()))
+                .sum();
+        Set<String> symbols = spans.stream().map(IngestSpan::getSymbol).collect(Collectors.toSet());
+        log.info("Deleted {} prices of symbols {}.", deleted, symbols);
+        if (!cryptoPriceStore.isLoaded()) {
+            return;
+        }
+        try (Stream<CryptoPrice> prices = cryptoPriceRepository.streamPricesOf(symbols)) {
+            cryptoPriceStore.replace(symbols, prices::iterator);
+        }
+    }
+
+    private void reload() {
+        try (Stream<CryptoPrice> prices = cryptoPriceRepository.streamAllPrices()) {
+            cryptoPriceStore.reload(prices::iterator);
+        }
+    }
+}
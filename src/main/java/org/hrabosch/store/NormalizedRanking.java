@@ -0,0 +1,86 @@
+package org.hrabosch.store;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable ranking of symbols by normalized price of whole series, ascending, ties ordered by symbol.
+ * Store updates it on commit only with changed symbols, so reading any K ranks costs O(K).
+ */
+public final class NormalizedRanking {
+
+    static final NormalizedRanking EMPTY = new NormalizedRanking(new String[0], new double[0]);
+
+    private final String[] symbols;
+    private final double[] normalized;
+
+    private NormalizedRanking(String[] symbols, double[] normalized) {
+        this.symbols = symbols;
+        this.normalized = normalized;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    public String getSymbol(int rank) {
+        return symbols[rank];
+    }
+
+    public double getNormalized(int rank) {
+        return normalized[rank];
+    }
+
+    /**
+     * Normalized price range, (max - min) / min.
+     */
+    public static double normalize(double min, double max) {
+        return (max - min) / min;
+    }
+
+    /**
+     * Returns ranking with given symbols ranked by their series, other symbols keep their rank.
+     */
+    NormalizedRanking update(Map<String, SymbolPriceSeries> changed) {
+        Entry[] entries = changed.values().stream()
+                .map(series -> series.summarize()
+                        .map(summary -> new Entry(series.getSymbol(), normalize(summary.getMinPrice(), summary.getMaxPrice()))))
+                .flatMap(Optional::stream)
+                .sorted((first, second) -> compare(first.normalized, first.symbol, second.normalized, second.symbol))
+                .toArray(Entry[]::new);
+        String[] mergedSymbols = new String[symbols.length + entries.length];
+        double[] mergedNormalized = new double[mergedSymbols.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < symbols.length || j < entries.length) {
+            if (i < symbols.length && changed.containsKey(symbols[i])) {
+                i++;
+            } else if (j == entries.length
+                    || (i < symbols.length && compare(normalized[i], symbols[i], entries[j].normalized, entries[j].symbol) < 0)) {
+                mergedSymbols[k] = symbols[i];
+                mergedNormalized[k++] = normalized[i++];
+            } else {
+                mergedSymbols[k] = entries[j].symbol;
+                mergedNormalized[k++] = entries[j++].normalized;
+            }
+        }
+        return new NormalizedRanking(Arrays.copyOf(mergedSymbols, k), Arrays.copyOf(mergedNormalized, k));
+    }
+
+    private static int compare(double firstNormalized, String firstSymbol, double secondNormalized, String secondSymbol) {
+        int result = Double.compare(firstNormalized, secondNormalized);
+        return result != 0 ? result : firstSymbol.compareTo(secondSymbol);
+    }
+
+    private static final class Entry {
+        private final String symbol;
+        private final double normalized;
+
+        private Entry(String symbol, double normalized) {
+            this.symbol = symbol;
+            this.normalized = normalized;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.hrabosch.store;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Per-period aggregates (min/max/open/close price, oldest/newest timestamp, count) of single price series,
+ * kept as columns sorted by period start.
+ */
+public final class PeriodRollups {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final RollupPeriod period;
+    private final Columns columns;
+
+    private PeriodRollups(RollupPeriod period, Columns columns) {
+        this.period = period;
+        this.columns = columns;
+    }
+
+    public RollupPeriod getPeriod() {
+        return period;
+    }
+
+    public int size() {
+        return columns.starts.length;
+    }
+
+    public LocalDate getPeriod(int index) {
+        return period.periodOf(columns.starts[index]);
+    }
+
+    public long getStart(int index) {
+        return columns.starts[index];
+    }
+
+    public PriceSummary get(int index) {
+        return new PriceSummary(columns.counts[index], columns.minPrices[index], columns.maxPrices[index],
+                columns.oldest[index], columns.newest[index]);
+    }
+
+    public PriceCandle getCandle(int index) {
+        return new PriceCandle(columns.starts[index], columns.counts[index], columns.openPrices[index],
+                columns.maxPrices[index], columns.minPrices[index], columns.closePrices[index]);
+    }
+
+    /**
+     * Index of first period starting at or after period containing given date.
+     */
+    public int indexOf(LocalDate date) {
+        long start = period.startOf(period.periodOf(date));
+        int index = Arrays.binarySearch(columns.starts, start);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    public Optional<PriceSummary> find(LocalDate date) {
+        long start = period.startOf(period.periodOf(date));
+        int index = Arrays.binarySearch(columns.starts, start);
+        return index < 0 ? Optional.empty() : Optional.of(get(index));
+    }
+
+    static PeriodRollups build(RollupPeriod period, SymbolPriceSeries series) {
+        return extend(null, period, series, Long.MIN_VALUE);
+    }
+
+    /**
+     * Recomputes periods of given series starting with period containing given timestamp,
+     * earlier periods are taken over from previous rollups.
+     */
+    static PeriodRollups extend(PeriodRollups previous, RollupPeriod period, SymbolPriceSeries series, long changedFrom) {
+        int kept = 0;
+        int index = 0;
+        if (previous != null && changedFrom != Long.MIN_VALUE) {
+            long changedStart = period.startOf(period.periodOf(changedFrom));
+            kept = previous.indexOf(period.periodOf(changedFrom));
+            index = series.lowerBound(changedStart);
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, kept * 2);
+        Columns columns = previous == null ? new Columns(capacity) : previous.columns.copyOf(capacity);
+        int size = kept;
+        while (index < series.size()) {
+            LocalDate current = period.periodOf(series.getTimestamp(index));
+            int end = series.lowerBound(period.startOf(period.next(current)));
+            if (size == columns.starts.length) {
+                columns = columns.copyOf(size * 2);
+            }
+            columns.set(size++, series.candleOf(period.startOf(current), index, end),
+                    series.getTimestamp(index), series.getTimestamp(end - 1));
+            index = end;
+        }
+        return new PeriodRollups(period, columns.copyOf(size));
+    }
+
+    /**
+     * Columns of periods, written only while rollups are built.
+     */
+    private static final class Columns {
+        private final long[] starts;
+        private final int[] counts;
+        private final double[] minPrices;
+        private final double[] maxPrices;
+        private final double[] openPrices;
+        private final double[] closePrices;
+        private final long[] oldest;
+        private final long[] newest;
+
+        private Columns(int capacity) {
+            starts = new long[capacity];
+            counts = new int[capacity];
+            minPrices = new double[capacity];
+            maxPrices = new double[capacity];
+            openPrices = new double[capacity];
+            closePrices = new double[capacity];
+            oldest = new long[capacity];
+            newest = new long[capacity];
+        }
+
+        private void set(int index, PriceCandle candle, long oldestTimestamp, long newestTimestamp) {
+            starts[index] = candle.getStart();
+            counts[index] = candle.getCount();
+            minPrices[index] = candle.getLow();
+            maxPrices[index] = candle.getHigh();
+            openPrices[index] = candle.getOpen();
+            closePrices[index] = candle.getClose();
+            oldest[index] = oldestTimestamp;
+            newest[index] = newestTimestamp;
+        }
+
+        private Columns copyOf(int capacity) {
+            Columns copy = new Columns(capacity);
+            int length = Math.min(capacity, starts.length);
+            System.arraycopy(starts, 0, copy.starts, 0, length);
+            System.arraycopy(counts, 0, copy.counts, 0, length);
+            System.arraycopy(minPrices, 0, copy.minPrices, 0, length);
+            System.arraycopy(maxPrices, 0, copy.maxPrices, 0, length);
+            System.arraycopy(openPrices, 0, copy.openPrices, 0, length);
+            System.arraycopy(closePrices, 0, copy.closePrices, 0, length);
+            System.arraycopy(oldest, 0, copy.oldest, 0, length);
+            System.arraycopy(newest, 0, copy.newest, 0, length);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.hrabosch.store;
+
+import lombok.Value;
+
+/**
+ * Open/high/low/close price and number of prices of interval starting at given timestamp.
+ */
+@Value
+public class PriceCandle {
+    private long start;
+    private int count;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+}
@@ -0,0 +1,24 @@
+package org.hrabosch.store;
+
+/**
+ * Reductions over range of price column behind every statistics and normalization computed from store.
+ * Implementations do not allocate and read each price once.
+ */
+public interface PriceKernel {
+
+    /**
+     * Minimum price between given indexes, from inclusive and to exclusive, range must not be empty.
+     */
+    double min(double[] prices, int from, int to);
+
+    /**
+     * Maximum price between given indexes, from inclusive and to exclusive, range must not be empty.
+     */
+    double max(double[] prices, int from, int to);
+
+    /**
+     * Writes minimum and maximum of every block of 2^blockShift prices, starting at given block, of first size
+     * prices. Last block may be partial.
+     */
+    void blockMinMax(double[] prices, int size, int blockShift, int fromBlock, double[] mins, double[] maxs);
+}
@@ -0,0 +1,48 @@
+package org.hrabosch.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects {@link PriceKernel} by name at startup. Vector kernel is compiled in separate {@code vector} source set and
+ * loaded reflectively only when selected and {@code jdk.incubator.vector} module is resolved (JVM started with
+ * {@code --add-modules jdk.incubator.vector}), otherwise scalar kernel is used.
+ */
+@Slf4j
+public final class PriceKernels {
+
+    public static final String SCALAR = "scalar";
+    public static final String VECTOR = "vector";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "org.hrabosch.store.VectorPriceKernel";
+
+    private PriceKernels() {
+    }
+
+    public static PriceKernel scalar() {
+        return ScalarPriceKernel.INSTANCE;
+    }
+
+    public static PriceKernel of(String name) {
+        if (SCALAR.equalsIgnoreCase(name)) {
+            return scalar();
+        }
+        if (!VECTOR.equalsIgnoreCase(name)) {
+            throw new IllegalArgumentException("Unknown price kernel: " + name);
+        }
+        if (!isVectorAvailable()) {
+            log.warn("Module {} is not available, using {} price kernel", VECTOR_MODULE, SCALAR);
+            return scalar();
+        }
+        try {
+            return (PriceKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Cannot load {}, using {} price kernel", VECTOR_KERNEL, SCALAR, e);
+            return scalar();
+        }
+    }
+
+    public static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
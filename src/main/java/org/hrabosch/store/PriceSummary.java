@@ -0,0 +1,12 @@
+package org.hrabosch.store;
+
+import lombok.Value;
+
+@Value
+public class PriceSummary {
+    private int count;
+    private double minPrice;
+    private double maxPrice;
+    private long oldest;
+    private long newest;
+}
@@ -0,0 +1,105 @@
+package org.hrabosch.store;
+
+import java.util.Arrays;
+
+/**
+ * Range minimum/maximum index over price column.
+ * Prices are grouped into fixed size blocks and sparse table keeps min/max of every 2^k blocks ending at given block,
+ * so appending prices only computes entries of new blocks. Query scans at most two partial blocks and looks up
+ * full blocks in constant time. Blocks and partial blocks are reduced by {@link PriceKernel}.
+ */
+final class RangeMinMaxIndex {
+
+    private static final int BLOCK_SHIFT = 4;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private final PriceKernel kernel;
+    private final double[] prices;
+    private final int size;
+    private final double[][] min;
+    private final double[][] max;
+
+    private RangeMinMaxIndex(PriceKernel kernel, double[] prices, int size, double[][] min, double[][] max) {
+        this.kernel = kernel;
+        this.prices = prices;
+        this.size = size;
+        this.min = min;
+        this.max = max;
+    }
+
+    static RangeMinMaxIndex build(PriceKernel kernel, double[] prices) {
+        return extend(kernel, null, prices);
+    }
+
+    /**
+     * Builds index over given prices reusing blocks of previous index, previous prices have to be prefix of given ones.
+     */
+    static RangeMinMaxIndex extend(PriceKernel kernel, RangeMinMaxIndex previous, double[] prices) {
+        int size = prices.length;
+        int blocks = (size + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+        int levels = blocks == 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(blocks);
+        int reusableBlocks = previous == null ? 0 : previous.size >> BLOCK_SHIFT;
+        int previousLevels = previous == null ? 0 : previous.min.length;
+        double[][] min = new double[levels][];
+        double[][] max = new double[levels][];
+        for (int k = 0; k < levels; k++) {
+            int from = k < previousLevels ? reusableBlocks : 0;
+            min[k] = k < previousLevels ? Arrays.copyOf(previous.min[k], blocks) : new double[blocks];
+            max[k] = k < previousLevels ? Arrays.copyOf(previous.max[k], blocks) : new double[blocks];
+            if (k == 0) {
+                kernel.blockMinMax(prices, size, BLOCK_SHIFT, from, min[0], max[0]);
+            } else {
+                int half = 1 << (k - 1);
+                for (int block = Math.max(from, (1 << k) - 1); block < blocks; block++) {
+                    min[k][block] = Math.min(min[k - 1][block], min[k - 1][block - half]);
+                    max[k][block] = Math.max(max[k - 1][block], max[k - 1][block - half]);
+                }
+            }
+        }
+        return new RangeMinMaxIndex(kernel, prices, size, min, max);
+    }
+
+    /**
+     * Minimum price between given indexes, both inclusive.
+     */
+    double minimum(int from, int to) {
+        int fromBlock = from >> BLOCK_SHIFT;
+        int toBlock = to >> BLOCK_SHIFT;
+        if (toBlock - fromBlock < 2) {
+            return scanMinimum(from, to);
+        }
+        double result = Math.min(
+                scanMinimum(from, ((fromBlock + 1) << BLOCK_SHIFT) - 1),
+                scanMinimum(toBlock << BLOCK_SHIFT, to));
+        int level = log2(toBlock - fromBlock - 1);
+        return Math.min(result, Math.min(min[level][toBlock - 1], min[level][fromBlock + (1 << level)]));
+    }
+
+    /**
+     * Maximum price between given indexes, both inclusive.
+     */
+    double maximum(int from, int to) {
+        int fromBlock = from >> BLOCK_SHIFT;
+        int toBlock = to >> BLOCK_SHIFT;
+        if (toBlock - fromBlock < 2) {
+            return scanMaximum(from, to);
+        }
+        double result = Math.max(
+                scanMaximum(from, ((fromBlock + 1) << BLOCK_SHIFT) - 1),
+                scanMaximum(toBlock << BLOCK_SHIFT, to));
+        int level = log2(toBlock - fromBlock - 1);
+        return Math.max(result, Math.max(max[level][toBlock - 1], max[level][fromBlock + (1 << level)]));
+    }
+
+    private double scanMinimum(int from, int to) {
+        return kernel.min(prices, from, to + 1);
+    }
+
+    private double scanMaximum(int from, int to) {
+        return kernel.max(prices, from, to + 1);
+    }
+
+    private static int log2(int value) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value);
+    }
+}
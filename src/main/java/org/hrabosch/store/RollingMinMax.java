@@ -0,0 +1,96 @@
+package org.hrabosch.store;
+
+/**
+ * Minimum and maximum price of sliding time window over prices pushed in timestamp order. Each window side is kept
+ * by monotonic deque, so every price is added and removed at most once and whole series is evaluated in linear time.
+ * Window ending at timestamp t contains prices with timestamp greater than t - window.
+ */
+public final class RollingMinMax {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long window;
+    private final MonotonicDeque minimums = new MonotonicDeque(true);
+    private final MonotonicDeque maximums = new MonotonicDeque(false);
+
+    public RollingMinMax(long window) {
+        this.window = window;
+    }
+
+    /**
+     * Moves window end to given timestamp, which has to be greater than timestamp of previously pushed price.
+     */
+    public void push(long timestamp, double price) {
+        minimums.evict(timestamp - window);
+        maximums.evict(timestamp - window);
+        minimums.add(timestamp, price);
+        maximums.add(timestamp, price);
+    }
+
+    public double getMin() {
+        return minimums.first();
+    }
+
+    public double getMax() {
+        return maximums.first();
+    }
+
+    /**
+     * Ring buffer of prices ordered from oldest to newest with prices monotonic in the same order, so its first
+     * price is minimum (ascending) or maximum of window.
+     */
+    private static final class MonotonicDeque {
+        private final boolean ascending;
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private double[] prices = new double[INITIAL_CAPACITY];
+        private int head;
+        private int size;
+
+        private MonotonicDeque(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        private void add(long timestamp, double price) {
+            while (size > 0 && dominates(price, prices[slot(size - 1)])) {
+                size--;
+            }
+            if (size == timestamps.length) {
+                grow();
+            }
+            int tail = slot(size++);
+            timestamps[tail] = timestamp;
+            prices[tail] = price;
+        }
+
+        private void evict(long upTo) {
+            while (size > 0 && timestamps[head] <= upTo) {
+                head = slot(1);
+                size--;
+            }
+        }
+
+        private double first() {
+            return prices[head];
+        }
+
+        private boolean dominates(double price, double last) {
+            return ascending ? price <= last : price >= last;
+        }
+
+        private int slot(int offset) {
+            return (head + offset) & (timestamps.length - 1);
+        }
+
+        private void grow() {
+            long[] grownTimestamps = new long[timestamps.length * 2];
+            double[] grownPrices = new double[prices.length * 2];
+            for (int i = 0; i < size; i++) {
+                grownTimestamps[i] = timestamps[slot(i)];
+                grownPrices[i] = prices[slot(i)];
+            }
+            timestamps = grownTimestamps;
+            prices = grownPrices;
+            head = 0;
+        }
+    }
+}
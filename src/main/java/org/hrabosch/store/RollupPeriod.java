@@ -0,0 +1,47 @@
+package org.hrabosch.store;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static java.time.temporal.TemporalAdjusters.firstDayOfMonth;
+
+public enum RollupPeriod {
+    DAY {
+        @Override
+        public LocalDate periodOf(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate next(LocalDate period) {
+            return period.plusDays(1);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate periodOf(LocalDate date) {
+            return date.with(firstDayOfMonth());
+        }
+
+        @Override
+        public LocalDate next(LocalDate period) {
+            return period.plusMonths(1);
+        }
+    };
+
+    /**
+     * First day of period containing given date.
+     */
+    public abstract LocalDate periodOf(LocalDate date);
+
+    public abstract LocalDate next(LocalDate period);
+
+    public LocalDate periodOf(long timestamp) {
+        return periodOf(Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    public long startOf(LocalDate period) {
+        return period.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
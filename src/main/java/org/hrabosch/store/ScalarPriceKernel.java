@@ -0,0 +1,47 @@
+package org.hrabosch.store;
+
+/**
+ * Plain loop kernel, left to auto-vectorization of JIT compiler.
+ */
+final class ScalarPriceKernel implements PriceKernel {
+
+    static final ScalarPriceKernel INSTANCE = new ScalarPriceKernel();
+
+    private ScalarPriceKernel() {
+    }
+
+    @Override
+    public double min(double[] prices, int from, int to) {
+        double result = prices[from];
+        for (int i = from + 1; i < to; i++) {
+            result = Math.min(result, prices[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public double max(double[] prices, int from, int to) {
+        double result = prices[from];
+        for (int i = from + 1; i < to; i++) {
+            result = Math.max(result, prices[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void blockMinMax(double[] prices, int size, int blockShift, int fromBlock, double[] mins, double[] maxs) {
+        int blocks = (size + (1 << blockShift) - 1) >> blockShift;
+        for (int block = fromBlock; block < blocks; block++) {
+            int start = block << blockShift;
+            int end = Math.min(start + (1 << blockShift), size);
+            double blockMin = prices[start];
+            double blockMax = prices[start];
+            for (int i = start + 1; i < end; i++) {
+                blockMin = Math.min(blockMin, prices[i]);
+                blockMax = Math.max(blockMax, prices[i]);
+            }
+            mins[block] = blockMin;
+            maxs[block] = blockMax;
+        }
+    }
+}
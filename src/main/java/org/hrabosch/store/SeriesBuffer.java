@@ -0,0 +1,75 @@
+package org.hrabosch.store;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Growable primitive buffer collecting entries of single symbol before they are merged into a series.
+ */
+class SeriesBuffer {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int size;
+    private boolean sorted = true;
+
+    void add(long timestamp, double price) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            prices = Arrays.copyOf(prices, size * 2);
+        }
+        if (size > 0 && timestamps[size - 1] > timestamp) {
+            sorted = false;
+        }
+        timestamps[size] = timestamp;
+        prices[size++] = price;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] getTimestamps() {
+        return timestamps;
+    }
+
+    double[] getPrices() {
+        return prices;
+    }
+
+    /**
+     * Sorts buffered entries by timestamp and keeps only the last added entry per timestamp.
+     */
+    void sortDistinct() {
+        if (!sorted) {
+            int[] order = IntStream.range(0, size).boxed()
+                    .sorted(Comparator.comparingLong(i -> timestamps[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            long[] sortedTimestamps = new long[size];
+            double[] sortedPrices = new double[size];
+            for (int i = 0; i < size; i++) {
+                sortedTimestamps[i] = timestamps[order[i]];
+                sortedPrices[i] = prices[order[i]];
+            }
+            timestamps = sortedTimestamps;
+            prices = sortedPrices;
+            sorted = true;
+        }
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct > 0 && timestamps[distinct - 1] == timestamps[i]) {
+                prices[distinct - 1] = prices[i];
+            } else {
+                timestamps[distinct] = timestamps[i];
+                prices[distinct++] = prices[i];
+            }
+        }
+        size = distinct;
+        timestamps = Arrays.copyOf(timestamps, size);
+        prices = Arrays.copyOf(prices, size);
+    }
+}
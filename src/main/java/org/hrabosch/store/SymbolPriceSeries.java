@@ -0,0 +1,213 @@
+package org.hrabosch.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, time-sorted price series of single symbol kept as primitive columns.
+ * Timestamps are looked up by binary search and prices by {@link RangeMinMaxIndex}, so any time range
+ * is summarized in logarithmic time.
+ */
+public final class SymbolPriceSeries {
+
+    private static final AtomicLong REVISIONS = new AtomicLong();
+
+    private final PriceKernel kernel;
+    private final String symbol;
+    private final long[] timestamps;
+    private final double[] prices;
+    private final RangeMinMaxIndex index;
+    private final PeriodRollups dailyRollups;
+    private final PeriodRollups monthlyRollups;
+    private final long revision;
+    private final long appendedSince;
+
+    SymbolPriceSeries(PriceKernel kernel, String symbol, long[] timestamps, double[] prices) {
+        this(kernel, symbol, timestamps, prices, RangeMinMaxIndex.build(kernel, prices), null, Long.MIN_VALUE);
+    }
+
+    private SymbolPriceSeries(PriceKernel kernel, String symbol, long[] timestamps, double[] prices, RangeMinMaxIndex index,
+                              SymbolPriceSeries previous, long changedFrom) {
+        this.kernel = kernel;
+        this.symbol = symbol;
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.index = index;
+        this.revision = REVISIONS.incrementAndGet();
+        boolean appended = previous != null && (previous.size() == 0 || previous.timestamps[previous.size() - 1] < changedFrom);
+        this.appendedSince = appended ? previous.appendedSince : revision;
+        this.dailyRollups = PeriodRollups.extend(previous == null ? null : previous.dailyRollups,
+                RollupPeriod.DAY, this, changedFrom);
+        this.monthlyRollups = PeriodRollups.extend(previous == null ? null : previous.monthlyRollups,
+                RollupPeriod.MONTH, this, changedFrom);
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    public double getPrice(int index) {
+        return prices[index];
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Whether this series is series of given revision or extends it only by appended entries, so entries read
+     * from that revision are unchanged prefix of this one.
+     */
+    public boolean isAppendOf(long previousRevision) {
+        return appendedSince <= previousRevision && previousRevision <= revision;
+    }
+
+    public PeriodRollups getRollups(RollupPeriod period) {
+        return period == RollupPeriod.DAY ? dailyRollups : monthlyRollups;
+    }
+
+    /**
+     * Index of first entry with timestamp greater or equal to given one.
+     */
+    public int lowerBound(long timestamp) {
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of first entry with timestamp strictly greater than given one.
+     */
+    public int upperBound(long timestamp) {
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public Optional<PriceSummary> summarize() {
+        return summarizeIndexes(0, timestamps.length);
+    }
+
+    public Optional<PriceSummary> summarize(long from, long to) {
+        return summarizeIndexes(lowerBound(from), upperBound(to));
+    }
+
+    Optional<PriceSummary> summarizeIndexes(int from, int to) {
+        if (from >= to) {
+            return Optional.empty();
+        }
+        return Optional.of(new PriceSummary(to - from,
+                index.minimum(from, to - 1),
+                index.maximum(from, to - 1),
+                timestamps[from],
+                timestamps[to - 1]));
+    }
+
+    /**
+     * Candles of given interval starting between given timestamps, both inclusive. Day and month candles are read
+     * from rollups, shorter ones are aggregated by range index, so cost depends on number of candles, not prices.
+     */
+    public List<PriceCandle> candles(CandleInterval interval, long from, long to) {
+        List<PriceCandle> candles = new ArrayList<>();
+        if (interval.getRollupPeriod() != null) {
+            PeriodRollups rollups = getRollups(interval.getRollupPeriod());
+            int i = rollups.indexOf(interval.getRollupPeriod().periodOf(from));
+            for (; i < rollups.size() && rollups.getStart(i) <= to; i++) {
+                if (rollups.getStart(i) >= from) {
+                    candles.add(rollups.getCandle(i));
+                }
+            }
+            return candles;
+        }
+        long first = interval.startOf(from);
+        int index = lowerBound(first < from ? interval.next(first) : first);
+        while (index < timestamps.length) {
+            long start = interval.startOf(timestamps[index]);
+            if (start > to) {
+                break;
+            }
+            int end = lowerBound(interval.next(start));
+            candles.add(candleOf(start, index, end));
+            index = end;
+        }
+        return candles;
+    }
+
+    /**
+     * Candle of entries between given indexes, from inclusive and to exclusive, range must not be empty.
+     */
+    PriceCandle candleOf(long start, int from, int to) {
+        return new PriceCandle(start, to - from, prices[from], index.maximum(from, to - 1), index.minimum(from, to - 1),
+                prices[to - 1]);
+    }
+
+    /**
+     * Returns new series containing entries of this one merged with given sorted and distinct entries.
+     * Given entries replace existing ones with the same timestamp.
+     */
+    SymbolPriceSeries merge(long[] newTimestamps, double[] newPrices) {
+        if (newTimestamps.length == 0) {
+            return this;
+        }
+        int size = timestamps.length;
+        if (size == 0 || timestamps[size - 1] < newTimestamps[0]) {
+            long[] mergedTimestamps = Arrays.copyOf(timestamps, size + newTimestamps.length);
+            double[] mergedPrices = Arrays.copyOf(prices, size + newPrices.length);
+            System.arraycopy(newTimestamps, 0, mergedTimestamps, size, newTimestamps.length);
+            System.arraycopy(newPrices, 0, mergedPrices, size, newPrices.length);
+            return new SymbolPriceSeries(kernel, symbol, mergedTimestamps, mergedPrices,
+                    RangeMinMaxIndex.extend(kernel, index, mergedPrices), this, newTimestamps[0]);
+        }
+        long[] mergedTimestamps = new long[size + newTimestamps.length];
+        double[] mergedPrices = new double[size + newPrices.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size || j < newTimestamps.length) {
+            if (j == newTimestamps.length || (i < size && timestamps[i] < newTimestamps[j])) {
+                mergedTimestamps[k] = timestamps[i];
+                mergedPrices[k++] = prices[i++];
+            } else {
+                if (i < size && timestamps[i] == newTimestamps[j]) {
+                    i++;
+                }
+                mergedTimestamps[k] = newTimestamps[j];
+                mergedPrices[k++] = newPrices[j++];
+            }
+        }
+        double[] resultPrices = Arrays.copyOf(mergedPrices, k);
+        return new SymbolPriceSeries(kernel, symbol, Arrays.copyOf(mergedTimestamps, k), resultPrices,
+                RangeMinMaxIndex.build(kernel, resultPrices), this, newTimestamps[0]);
+    }
+
+    static SymbolPriceSeries empty(PriceKernel kernel, String symbol) {
+        return new SymbolPriceSeries(kernel, symbol, new long[0], new double[0]);
+    }
+}
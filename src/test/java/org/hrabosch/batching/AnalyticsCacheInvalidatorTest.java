@@ -0,0 +1,24 @@
+package org.hrabosch.batching;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.hrabosch.configuration.CacheConfiguration.NORMALIZED_ALL_CACHE;
+import static org.hrabosch.configuration.CacheConfiguration.STATISTICS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AnalyticsCacheInvalidatorTest {
+
+    @Test
+    void clearsAllCachesAfterJob() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(NORMALIZED_ALL_CACHE, STATISTICS_CACHE);
+        cacheManager.getCache(NORMALIZED_ALL_CACHE).put("key", "value");
+        cacheManager.getCache(STATISTICS_CACHE).put("key", "value");
+
+        new AnalyticsCacheInvalidator(cacheManager).afterJob(new JobExecution(1L));
+
+        assertNull(cacheManager.getCache(NORMALIZED_ALL_CACHE).get("key"));
+        assertNull(cacheManager.getCache(STATISTICS_CACHE).get("key"));
+    }
+}
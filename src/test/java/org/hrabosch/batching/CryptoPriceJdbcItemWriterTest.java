@@ -0,0 +1,118 @@
+package org.hrabosch.batching;
+
+import org.h2.tools.TriggerAdapter;
+import org.hrabosch.model.CryptoPrice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CryptoPriceJdbcItemWriterTest {
+
+    private static final String SYMBOL = "AAA";
+    private static final String OTHER_SYMBOL = "BBB";
+    private static final int BATCH_SIZE = 2;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private SymbolDictionary symbolDictionary;
+    private CryptoPriceJdbcItemWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE crypto_symbol (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(255) NOT NULL UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE crypto_price (symbol_id INTEGER NOT NULL REFERENCES crypto_symbol, "
+                + "timestamp BIGINT NOT NULL, price FLOAT(53) NOT NULL, PRIMARY KEY (symbol_id, timestamp))");
+        transactionManager = new DataSourceTransactionManager(database);
+        symbolDictionary = new SymbolDictionary(jdbcTemplate, transactionManager);
+        writer = new CryptoPriceJdbcItemWriter(jdbcTemplate, symbolDictionary, BATCH_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void writesAllItemsOfChunk() {
+        writer.write(Chunk.of(price(1L, 1.0), price(2L, 2.0), price(3L, 3.0)));
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_price", Integer.class));
+    }
+
+    @Test
+    void symbolsAreStoredAsDictionaryIds() {
+        writer.write(Chunk.of(price(1L, 1.0), new CryptoPrice(new Timestamp(1L), OTHER_SYMBOL, 2.0), price(2L, 3.0)));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_symbol", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_price p JOIN crypto_symbol s "
+                + "ON s.id = p.symbol_id WHERE s.name = ?", Integer.class, SYMBOL));
+    }
+
+    @Test
+    void existingPriceIsReplaced() {
+        writer.write(Chunk.of(price(1L, 1.0), price(2L, 2.0)));
+        writer.write(Chunk.of(price(2L, 5.0)));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_price", Integer.class));
+        assertEquals(5.0, jdbcTemplate.queryForObject(
+                "SELECT price FROM crypto_price WHERE timestamp = ?", Double.class, 2L));
+    }
+
+    @Test
+    void symbolsRegisteredUpFrontAreReused() {
+        symbolDictionary.registerAll(List.of(SYMBOL, OTHER_SYMBOL));
+        jdbcTemplate.execute("CREATE TRIGGER no_new_symbols BEFORE INSERT, UPDATE ON crypto_symbol FOR EACH ROW "
+                + "CALL 'org.hrabosch.batching.CryptoPriceJdbcItemWriterTest$RejectingTrigger'");
+
+        writer.write(Chunk.of(price(1L, 1.0), new CryptoPrice(new Timestamp(1L), OTHER_SYMBOL, 2.0)));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_price", Integer.class));
+    }
+
+    @Test
+    void symbolOfRolledBackChunkIsRegisteredAgain() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            writer.write(Chunk.of(price(1L, 1.0)));
+            status.setRollbackOnly();
+        });
+
+        writer.write(Chunk.of(price(2L, 2.0)));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_symbol", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_price", Integer.class));
+    }
+
+    private static CryptoPrice price(long timestamp, double price) {
+        return new CryptoPrice(new Timestamp(timestamp), SYMBOL, price);
+    }
+
+    public static class RejectingTrigger extends TriggerAdapter {
+
+        @Override
+        public void fire(Connection connection, ResultSet oldRow, ResultSet newRow) throws SQLException {
+            throw new SQLException("Symbol should be cached already");
+        }
+    }
+}
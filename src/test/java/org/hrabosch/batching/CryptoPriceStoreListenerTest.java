@@ -0,0 +1,53 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.store.CryptoPriceStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CryptoPriceStoreListenerTest {
+
+    private static final String SYMBOL = "AAA";
+
+    private final CryptoPriceStore cryptoPriceStore = new CryptoPriceStore();
+    private final CryptoPriceStoreListener listener = new CryptoPriceStoreListener(cryptoPriceStore);
+
+    @Test
+    void publishesOnlyCommittedChunksOfCompletedStep() {
+        listener.afterWrite(new Chunk<>(new CryptoPrice(1L, SYMBOL, 1.0)));
+        listener.afterChunk(null);
+        listener.afterWrite(new Chunk<>(new CryptoPrice(2L, SYMBOL, 2.0)));
+        listener.afterChunkError(null);
+
+        assertTrue(cryptoPriceStore.isEmpty());
+
+        listener.afterStep(stepExecution(BatchStatus.COMPLETED));
+
+        assertEquals(1, cryptoPriceStore.getSeries(SYMBOL).get().size());
+    }
+
+    @Test
+    void discardsStagedPricesOfFailedStep() {
+        listener.afterWrite(new Chunk<>(new CryptoPrice(1L, SYMBOL, 1.0)));
+        listener.afterChunk(null);
+
+        listener.afterStep(stepExecution(BatchStatus.FAILED));
+        cryptoPriceStore.commit();
+
+        assertTrue(cryptoPriceStore.isEmpty());
+        assertFalse(cryptoPriceStore.getSeries(SYMBOL).isPresent());
+    }
+
+    private static StepExecution stepExecution(BatchStatus status) {
+        StepExecution stepExecution = new JobExecution(1L).createStepExecution("step");
+        stepExecution.setStatus(status);
+        return stepExecution;
+    }
+}
@@ -0,0 +1,176 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.IngestLedgerEntry;
+import org.hrabosch.model.IngestSpan;
+import org.hrabosch.repository.IngestLedgerRepository;
+import org.hrabosch.store.CryptoPriceStore;
+import org.hrabosch.store.CryptoPriceStoreInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CsvDirectoryWatcherTest {
+
+    private static final String HEADER = "timestamp,symbol,price\n";
+
+    @Mock
+    private IngestLedgerRepository ingestLedgerRepository;
+    @Mock
+    private ItemWriter<CryptoPrice> writer;
+    @Mock
+    private CryptoPriceRollupTasklet rollupTasklet;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CryptoPriceStoreInitializer cryptoPriceStoreInitializer;
+
+    @TempDir
+    Path sourceDir;
+
+    private final Map<String, IngestLedgerEntry> entries = new HashMap<>();
+    private final CryptoPriceStore cryptoPriceStore = new CryptoPriceStore();
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    private CsvDirectoryWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(ingestLedgerRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(entries.get(invocation.<String>getArgument(0))));
+        lenient().when(ingestLedgerRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<IngestLedgerEntry> saved = invocation.getArgument(0);
+            saved.forEach(entry -> entries.put(entry.getFileName(), entry));
+            return saved;
+        });
+        watcher = new CsvDirectoryWatcher(new IngestLedger(ingestLedgerRepository, 1), sourceDir, "*_values.csv", writer,
+                cryptoPriceStore, rollupTasklet, new TransactionTemplate(transactionManager));
+        watcher.setBatchSize(2);
+        watcher.setImportLock(importLock);
+        watcher.setCryptoPriceStoreInitializer(cryptoPriceStoreInitializer);
+    }
+
+    @Test
+    void importsOnlyCompleteLines() throws Exception {
+        Path file = sourceDir.resolve("AAA_values.csv");
+        Files.writeString(file, HEADER + "1641009600000,AAA,1.5\n1641013200000,AAA,2.5\n1641016800000,AAA,3");
+
+        assertEquals(2, watcher.ingest());
+        assertEquals(2, cryptoPriceStore.getSeries("AAA").orElseThrow().size());
+
+        Files.writeString(file, ".5\n", StandardOpenOption.APPEND);
+
+        assertEquals(1, watcher.ingest());
+        assertEquals(3.5, cryptoPriceStore.getSeries("AAA").orElseThrow().getPrice(2));
+        verify(writer, times(2)).write(any());
+        verify(rollupTasklet, times(2)).persistRollups();
+    }
+
+    @Test
+    void ignoresUnchangedAndNotMatchingFiles() throws IOException {
+        Files.writeString(sourceDir.resolve("AAA_values.csv"), HEADER + "1641009600000,AAA,1.5\n");
+        Files.writeString(sourceDir.resolve("notes.txt"), "1641009600000,BBB,1.5\n");
+
+        assertEquals(1, watcher.ingest());
+        assertEquals(0, watcher.ingest());
+        assertEquals(1, cryptoPriceStore.getSymbols().size());
+    }
+
+    @Test
+    void skipsMalformedLines() throws Exception {
+        Path file = sourceDir.resolve("AAA_values.csv");
+        Files.writeString(file, HEADER + "1641009600000,AAA,1.5\nbroken\n1641013200000,AAA,2.5\n");
+
+        assertEquals(2, watcher.ingest());
+        assertEquals(0, watcher.ingest());
+        assertEquals(2, cryptoPriceStore.getSeries("AAA").orElseThrow().size());
+    }
+
+    @Test
+    void committedChunksOfFailedFileAreNotImportedAgain() throws Exception {
+        Path file = sourceDir.resolve("AAA_values.csv");
+        Files.writeString(file, HEADER + "1641009600000,AAA,1.5\n1641013200000,AAA,2.5\n1641016800000,AAA,3.5\n");
+        doNothing().doThrow(new IllegalStateException("Write failed")).doNothing().when(writer).write(any());
+
+        assertEquals(2, watcher.ingest());
+        assertEquals(1, watcher.ingest());
+        assertEquals(0, watcher.ingest());
+        assertEquals(3, cryptoPriceStore.getSeries("AAA").orElseThrow().size());
+        verify(writer, times(3)).write(any());
+    }
+
+    @Test
+    void deletesPricesOfRewrittenFileBeforeImport() throws Exception {
+        Path file = sourceDir.resolve("AAA_values.csv");
+        Files.writeString(file, HEADER + "1641009600000,AAA,1.5\n1641013200000,AAA,2.5\n");
+        watcher.ingest();
+        verify(cryptoPriceStoreInitializer, never()).deletePrices(any());
+
+        Files.writeString(file, HEADER + "1641016800000,AAA,3.5\n");
+
+        assertEquals(1, watcher.ingest());
+        verify(cryptoPriceStoreInitializer).deletePrices(List.of(new IngestSpan("AAA", 1641009600000L, 1641013200000L)));
+        assertEquals(List.of(new IngestSpan("AAA", 1641016800000L, 1641016800000L)),
+                entries.get(file.toString()).getSpans());
+    }
+
+    @Test
+    void waitsForRunningImportJob() throws Exception {
+        Files.writeString(sourceDir.resolve("AAA_values.csv"), HEADER + "1641009600000,AAA,1.5\n");
+        ExecutorService job = Executors.newSingleThreadExecutor();
+        try {
+            job.submit(importLock::lock).get();
+
+            CompletableFuture<Integer> ingest = CompletableFuture.supplyAsync(watcher::ingest);
+            Thread.sleep(100);
+            assertFalse(ingest.isDone());
+
+            job.submit(importLock::unlock).get();
+            assertEquals(1, ingest.get(5, TimeUnit.SECONDS));
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    @Test
+    void releasesImportLockWhenIngestFails() throws IOException {
+        Files.writeString(sourceDir.resolve("AAA_values.csv"), HEADER + "1641009600000,AAA,1.5\n");
+        doThrow(new IllegalStateException("Rollups failed")).when(rollupTasklet).persistRollups();
+
+        assertThrows(IllegalStateException.class, watcher::ingest);
+        assertFalse(importLock.isLocked());
+    }
+}
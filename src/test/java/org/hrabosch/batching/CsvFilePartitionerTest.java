@@ -0,0 +1,91 @@
+package org.hrabosch.batching;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvFilePartitionerTest {
+
+    private static final String HEADER = "timestamp,symbol,price\n";
+    private static final int LINES = 100;
+
+    @TempDir
+    Path sourceDir;
+
+    @Test
+    void createsPartitionPerFile() throws IOException {
+        writeFile("AAA_values.csv", "AAA");
+        writeFile("BBB_values.csv", "BBB");
+
+        Map<String, ExecutionContext> partitions = partitioner(Long.MAX_VALUE, fullRange("AAA_values.csv"),
+                fullRange("BBB_values.csv")).partition(4);
+
+        assertEquals(2, partitions.size());
+        partitions.values().forEach(context -> assertEquals(HEADER.length(), context.getLong(CsvFilePartitioner.START_OFFSET)));
+    }
+
+    @Test
+    void splitsLargeFileIntoLineAlignedRanges() throws IOException {
+        String content = writeFile("AAA_values.csv", "AAA");
+
+        List<ExecutionContext> partitions = partitioner(1, fullRange("AAA_values.csv")).partition(4).values().stream()
+                .sorted(Comparator.comparingLong(context -> context.getLong(CsvFilePartitioner.START_OFFSET)))
+                .collect(Collectors.toList());
+
+        assertEquals(4, partitions.size());
+        StringBuilder joined = new StringBuilder();
+        for (ExecutionContext context : partitions) {
+            FileRangeResource resource = new FileRangeResource(new File(context.getString(CsvFilePartitioner.FILE_NAME)),
+                    context.getLong(CsvFilePartitioner.START_OFFSET), context.getLong(CsvFilePartitioner.END_OFFSET));
+            try (InputStream inputStream = resource.getInputStream()) {
+                String range = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                assertEquals('\n', range.charAt(range.length() - 1));
+                joined.append(range);
+            }
+        }
+        assertEquals(content.substring(HEADER.length()), joined.toString());
+    }
+
+    @Test
+    void skipsEmptyRanges() throws IOException {
+        writeFile("AAA_values.csv", "AAA");
+        long size = Files.size(sourceDir.resolve("AAA_values.csv"));
+        IngestRange unchanged = new IngestRange(sourceDir.resolve("AAA_values.csv").toString(), size, size, size, 0, 0, false,
+                List.of());
+
+        assertTrue(partitioner(1, unchanged).partition(4).isEmpty());
+    }
+
+    private CsvFilePartitioner partitioner(long minPartitionSize, IngestRange... ranges) {
+        return new CsvFilePartitioner(List.of(ranges), minPartitionSize);
+    }
+
+    private IngestRange fullRange(String name) throws IOException {
+        Path file = sourceDir.resolve(name);
+        long size = Files.size(file);
+        return new IngestRange(file.toString(), HEADER.length(), size, size, 0, 0, false, List.of());
+    }
+
+    private String writeFile(String name, String symbol) throws IOException {
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 0; i < LINES; i++) {
+            content.append(1641009600000L + i).append(',').append(symbol).append(',').append(i * 1.5).append('\n');
+        }
+        Files.writeString(sourceDir.resolve(name), content.toString());
+        return content.toString();
+    }
+}
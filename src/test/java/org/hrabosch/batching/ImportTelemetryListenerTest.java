@@ -0,0 +1,133 @@
+package org.hrabosch.batching;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.ImportReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImportTelemetryListenerTest {
+
+    private static final String AAA_FILE = "/data/AAA_values.csv";
+    private static final String BBB_FILE = "/data/BBB_values.csv";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<Resource> currentResource = new AtomicReference<>();
+    private final ImportTelemetryListener listener = new ImportTelemetryListener(meterRegistry, currentResource::get);
+
+    @Test
+    void countsRowsPerFileOfMultiResourceStep() {
+        JobExecution jobExecution = new JobExecution(1L);
+        StepExecution stepExecution = jobExecution.createStepExecution("step");
+        stepExecution.getExecutionContext().put(IngestLedgerListener.INGEST_PLAN, new ArrayList<>(List.of(
+                new IngestRange(AAA_FILE, 23, 123, 123, 0, 0, false, List.of()),
+                new IngestRange(BBB_FILE, 23, 73, 73, 0, 0, false, List.of()))));
+
+        listener.beforeStep(stepExecution);
+        currentResource.set(new FileSystemResource(new File(AAA_FILE)));
+        runChunk(stepExecution, 3);
+        currentResource.set(new FileSystemResource(new File(BBB_FILE)));
+        runChunk(stepExecution, 2);
+        assertEquals(1, meterRegistry.get(ImportTelemetryListener.ACTIVE_TIMER).tag("step", "step").longTaskTimer().activeTasks());
+        listener.afterStep(stepExecution);
+
+        assertEquals(Map.of("AAA_values.csv", 3L, "BBB_values.csv", 2L),
+                stepExecution.getExecutionContext().get(ImportTelemetryListener.FILE_ROWS));
+        assertEquals(Map.of("AAA_values.csv", 100L, "BBB_values.csv", 50L),
+                stepExecution.getExecutionContext().get(ImportTelemetryListener.FILE_BYTES));
+        assertEquals(3, meterRegistry.get(ImportTelemetryListener.ROWS_COUNTER).tag("file", "AAA_values.csv").counter().count());
+        // timer counts also reads ending the chunk input
+        assertEquals(7, meterRegistry.get(ImportTelemetryListener.STAGE_TIMER)
+                .tags("step", "step", "partition", "none", "stage", "read").timer().count());
+        assertEquals(2, meterRegistry.get(ImportTelemetryListener.STAGE_TIMER)
+                .tags("step", "step", "partition", "none", "stage", "write").timer().count());
+        assertEquals(0, meterRegistry.get(ImportTelemetryListener.ACTIVE_TIMER).tag("step", "step").longTaskTimer().activeTasks());
+
+        ImportReport report = ImportReport.of(jobExecution);
+        assertEquals(5, report.getRows());
+        assertEquals(150, report.getBytes());
+        assertEquals(5, report.getStages().get(ImportTelemetryListener.READ).getCount());
+        assertEquals(5, report.getStages().get(ImportTelemetryListener.PROCESS).getCount());
+        assertEquals(5, report.getStages().get(ImportTelemetryListener.WRITE).getCount());
+        assertEquals(2, report.getStages().get(ImportTelemetryListener.CHUNK).getCount());
+        assertEquals(List.of(new ImportReport.FileImport("AAA_values.csv", 3, 100),
+                new ImportReport.FileImport("BBB_values.csv", 2, 50)), report.getFiles());
+    }
+
+    @Test
+    void sumsPartitionsOfSameFile() {
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.createStepExecution("partitionedStep").getExecutionContext()
+                .put(IngestLedgerListener.INGEST_PLAN,
+                        new ArrayList<>(List.of(new IngestRange(AAA_FILE, 0, 200, 200, 0, 0, false, List.of()))));
+        for (long start : new long[]{0, 100}) {
+            StepExecution partition = jobExecution.createStepExecution("partitionStep:partition" + start);
+            partition.getExecutionContext().putString(CsvFilePartitioner.FILE_NAME, AAA_FILE);
+            partition.getExecutionContext().putLong(CsvFilePartitioner.START_OFFSET, start);
+            partition.getExecutionContext().putLong(CsvFilePartitioner.END_OFFSET, start + 100);
+            ImportTelemetryListener partitionListener = new ImportTelemetryListener(meterRegistry, currentResource::get);
+            partitionListener.beforeStep(partition);
+            runChunk(partitionListener, partition, 4);
+            partitionListener.afterStep(partition);
+        }
+
+        ImportReport report = ImportReport.of(jobExecution);
+
+        assertEquals(List.of(new ImportReport.FileImport("AAA_values.csv", 8, 200)), report.getFiles());
+        assertEquals(8, meterRegistry.get(ImportTelemetryListener.ROWS_COUNTER).tag("step", "partitionStep").counter().count());
+        assertEquals(4, meterRegistry.get(ImportTelemetryListener.STAGE_TIMER)
+                .tags("step", "partitionStep", "partition", "partition100", "stage", "process").timer().count());
+        assertEquals(8, report.getStages().get(ImportTelemetryListener.READ).getCount());
+        assertEquals(2, report.getStages().get(ImportTelemetryListener.CHUNK).getCount());
+    }
+
+    @Test
+    void reportIsMissingWithoutTelemetry() {
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.createStepExecution("rollupStep");
+
+        assertNull(ImportReport.of(jobExecution));
+    }
+
+    private void runChunk(StepExecution stepExecution, int items) {
+        runChunk(listener, stepExecution, items);
+    }
+
+    /**
+     * Runs chunk of given items through listener and counts it in step execution as chunk step would.
+     */
+    private static void runChunk(ImportTelemetryListener listener, StepExecution stepExecution, int items) {
+        listener.beforeChunk(null);
+        Chunk<CryptoPrice> chunk = new Chunk<>();
+        for (int i = 0; i < items; i++) {
+            CryptoPrice price = new CryptoPrice();
+            listener.beforeRead();
+            listener.afterRead(price);
+            chunk.add(price);
+        }
+        listener.beforeRead();
+        for (CryptoPrice price : chunk) {
+            listener.beforeProcess(price);
+            listener.afterProcess(price, price);
+        }
+        listener.beforeWrite(chunk);
+        listener.afterWrite(chunk);
+        listener.afterChunk(null);
+        stepExecution.setReadCount(stepExecution.getReadCount() + items);
+        stepExecution.setWriteCount(stepExecution.getWriteCount() + items);
+        stepExecution.incrementCommitCount();
+    }
+}
@@ -0,0 +1,139 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.model.IngestLedgerEntry;
+import org.hrabosch.model.IngestSpan;
+import org.hrabosch.repository.IngestLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class IngestLedgerTest {
+
+    private static final String HEADER = "timestamp,symbol,price\n";
+    private static final String FIRST_LINES = "1641009600000,AAA,1.5\n1641013200000,AAA,2.5\n";
+    private static final String NEXT_LINES = "1641016800000,AAA,3.5\n";
+
+    @Mock
+    private IngestLedgerRepository ingestLedgerRepository;
+
+    @TempDir
+    Path sourceDir;
+
+    private final Map<String, IngestLedgerEntry> entries = new HashMap<>();
+
+    private IngestLedger ingestLedger;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(ingestLedgerRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(entries.get(invocation.<String>getArgument(0))));
+        lenient().when(ingestLedgerRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<IngestLedgerEntry> saved = invocation.getArgument(0);
+            saved.forEach(entry -> entries.put(entry.getFileName(), entry));
+            return saved;
+        });
+        ingestLedger = new IngestLedger(ingestLedgerRepository, 1);
+        file = sourceDir.resolve("AAA_values.csv");
+    }
+
+    @Test
+    void newFileIsReadWholeWithoutHeader() throws IOException {
+        Files.writeString(file, HEADER + FIRST_LINES);
+
+        IngestRange range = plan();
+
+        assertEquals(HEADER.length(), range.getStart());
+        assertEquals(Files.size(file), range.getEnd());
+    }
+
+    @Test
+    void unchangedFileIsSkipped() throws IOException {
+        Files.writeString(file, HEADER + FIRST_LINES);
+        ingestLedger.record(List.of(plan()));
+
+        assertTrue(plan().isEmpty());
+    }
+
+    @Test
+    void appendedFileIsReadFromProcessedOffset() throws IOException {
+        Files.writeString(file, HEADER + FIRST_LINES);
+        ingestLedger.record(List.of(plan()));
+        Files.writeString(file, NEXT_LINES, StandardOpenOption.APPEND);
+
+        IngestRange range = plan();
+
+        assertEquals((HEADER + FIRST_LINES).length(), range.getStart());
+        assertEquals(Files.size(file), range.getEnd());
+        assertFalse(range.isRewritten());
+        assertEquals(List.of(new IngestSpan("AAA", 1641009600000L, 1641016800000L)), range.getSpans());
+        assertTrue(ingestLedger.staleSpans(range).isEmpty());
+    }
+
+    @Test
+    void lineCutOffByPreviousImportIsReadAgain() throws IOException {
+        Files.writeString(file, HEADER + FIRST_LINES + NEXT_LINES.substring(0, 10));
+        ingestLedger.record(List.of(plan()));
+        Files.writeString(file, NEXT_LINES.substring(10), StandardOpenOption.APPEND);
+
+        IngestRange range = plan();
+
+        assertEquals((HEADER + FIRST_LINES).length(), range.getStart());
+        assertEquals(Files.size(file), range.getEnd());
+    }
+
+    @Test
+    void rewrittenFileIsReadWhole() throws IOException {
+        Files.writeString(file, HEADER + FIRST_LINES);
+        ingestLedger.record(List.of(plan()));
+        Files.writeString(file, HEADER + NEXT_LINES + FIRST_LINES);
+
+        IngestRange range = plan();
+
+        assertEquals(HEADER.length(), range.getStart());
+        assertEquals(Files.size(file), range.getEnd());
+        assertTrue(range.isRewritten());
+    }
+
+    @Test
+    void spansOfRewrittenFileAreStale() throws IOException {
+        Files.writeString(file, HEADER + FIRST_LINES);
+        ingestLedger.record(List.of(plan()));
+        Files.writeString(file, HEADER + NEXT_LINES);
+
+        IngestRange range = plan();
+
+        assertEquals(List.of(new IngestSpan("AAA", 1641009600000L, 1641013200000L)), ingestLedger.staleSpans(range));
+        assertEquals(List.of(new IngestSpan("AAA", 1641016800000L, 1641016800000L)), range.getSpans());
+        ingestLedger.record(List.of(range));
+        assertEquals(range.getSpans(), entries.get(file.toFile().getAbsolutePath()).getSpans());
+    }
+
+    private IngestRange plan() throws IOException {
+        List<IngestRange> ranges = ingestLedger.plan(new Resource[] {new FileSystemResource(file)});
+        assertEquals(1, ranges.size());
+        return ranges.get(0);
+    }
+}
@@ -0,0 +1,140 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.model.CryptoPrice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCsvItemReaderTest {
+
+    private static final String HEADER = "timestamp,symbol,price\n";
+
+    @TempDir
+    Path sourceDir;
+
+    @Test
+    void readsAllLinesSkippingHeader() throws Exception {
+        Path file = write(HEADER + "1641009600000,BTC,46813.21\r\n1641020400000,BTC,0.1564\n\n1641031200000,ETH,-1.5E3");
+
+        List<CryptoPrice> prices = readAll(new FileSystemResource(file));
+
+        assertEquals(3, prices.size());
+        assertEquals(1641009600000L, prices.get(0).getTimestamp().getTime());
+        assertEquals("BTC", prices.get(0).getSymbol());
+        assertEquals(46813.21, prices.get(0).getPrice());
+        assertEquals(0.1564, prices.get(1).getPrice());
+        assertSame(prices.get(0).getSymbol(), prices.get(1).getSymbol());
+        assertEquals("ETH", prices.get(2).getSymbol());
+        assertEquals(-1500.0, prices.get(2).getPrice());
+    }
+
+    @Test
+    void readsOnlyGivenRange() throws Exception {
+        String firstLine = "1641009600000,BTC,1.0\n";
+        String secondLine = "1641020400000,BTC,2.0\n";
+        Path file = write(HEADER + firstLine + secondLine + "1641031200000,BTC,3.0\n");
+        long start = HEADER.length() + firstLine.length();
+
+        List<CryptoPrice> prices = readAll(new FileRangeResource(file.toFile(), start, start + secondLine.length()));
+
+        assertEquals(1, prices.size());
+        assertEquals(2.0, prices.get(0).getPrice());
+    }
+
+    @Test
+    void fieldsAreTrimmed() throws Exception {
+        Path file = write(HEADER + " 1641009600000 , BTC ,46813.21\n1641020400000,BTC, 0.5 \n");
+
+        List<CryptoPrice> prices = readAll(new FileSystemResource(file));
+
+        assertEquals(1641009600000L, prices.get(0).getTimestamp().getTime());
+        assertEquals("BTC", prices.get(0).getSymbol());
+        assertSame(prices.get(0).getSymbol(), prices.get(1).getSymbol());
+        assertEquals(0.5, prices.get(1).getPrice());
+    }
+
+    @Test
+    void blankSymbolFails() throws Exception {
+        Path file = write(HEADER + "1641009600000,  ,1.0\n");
+
+        assertThrows(FlatFileParseException.class, () -> readAll(new FileSystemResource(file)));
+    }
+
+    @Test
+    void invalidLineOfRangeReportsFileOffset() throws Exception {
+        String firstLine = "1641009600000,BTC,1.0\n";
+        Path file = write(HEADER + firstLine + "1641020400000,BTC,2.0\nnot-a-number,BTC,3.0\n");
+        long start = HEADER.length() + firstLine.length();
+
+        FlatFileParseException error = assertThrows(FlatFileParseException.class,
+                () -> readAll(new FileRangeResource(file.toFile(), start, Files.size(file))));
+
+        assertEquals(2, error.getLineNumber());
+        assertTrue(error.getMessage().contains("file offset " + (start + firstLine.length())), error.getMessage());
+    }
+
+    @Test
+    void invalidLineFails() throws Exception {
+        Path file = write(HEADER + "1641009600000,BTC,1.0\nnot-a-number,BTC,2.0\n");
+
+        assertThrows(FlatFileParseException.class, () -> readAll(new FileSystemResource(file)));
+    }
+
+    @Test
+    void readingContinuesAfterInvalidLine() throws Exception {
+        String firstLine = "1641009600000,BTC,1.0\n";
+        String invalidLine = "not-a-number,BTC,2.0\n";
+        Path file = write(HEADER + firstLine + invalidLine + "1641031200000,BTC,3.0\n");
+        MappedCsvItemReader reader = new MappedCsvItemReader(1);
+        reader.setName("test");
+        reader.setResource(new FileSystemResource(file));
+        reader.open(new ExecutionContext());
+        try {
+            assertEquals(1.0, reader.read().getPrice());
+            assertEquals(HEADER.length() + firstLine.length(), reader.getOffset());
+            assertThrows(FlatFileParseException.class, reader::read);
+            assertEquals(HEADER.length() + firstLine.length() + invalidLine.length(), reader.getOffset());
+            assertEquals(3.0, reader.read().getPrice());
+            assertNull(reader.read());
+            assertEquals(Files.size(file), reader.getOffset());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private List<CryptoPrice> readAll(Resource resource) throws Exception {
+        MappedCsvItemReader reader = new MappedCsvItemReader(1);
+        reader.setName("test");
+        reader.setResource(resource);
+        reader.open(new ExecutionContext());
+        try {
+            List<CryptoPrice> prices = new ArrayList<>();
+            CryptoPrice price;
+            while ((price = reader.read()) != null) {
+                prices.add(price);
+            }
+            return prices;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(sourceDir.resolve("AAA_values.csv"), content);
+    }
+}
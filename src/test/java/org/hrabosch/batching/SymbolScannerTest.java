@@ -0,0 +1,61 @@
+package org.hrabosch.batching;
+
+import org.hrabosch.model.IngestSpan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SymbolScannerTest {
+
+    private static final String HEADER = "timestamp,symbol,price\n";
+
+    @TempDir
+    Path sourceDir;
+
+    @Test
+    void collectsTrimmedSymbolsOfRange() throws IOException {
+        Path file = sourceDir.resolve("values.csv");
+        Files.writeString(file, HEADER + "1641009600000,AAA,1.5\r\n1641013200000, BBB ,2.5\n\nbroken\n1641016800000,CCC,3.5");
+
+        assertEquals(Set.of("AAA", "BBB", "CCC"), symbols(SymbolScanner.scan(range(file, HEADER.length()))));
+    }
+
+    @Test
+    void collectsTimestampSpanOfEachSymbol() throws IOException {
+        Path file = sourceDir.resolve("values.csv");
+        Files.writeString(file, "1641013200000,AAA,1.5\n 1641009600000 ,AAA,2.5\n1641016800000,BBB,3.5\nnow,AAA,4.5\n"
+                + "1641020400000,AAA,5.5\n");
+
+        assertEquals(Set.of(new IngestSpan("AAA", 1641009600000L, 1641020400000L),
+                        new IngestSpan("BBB", 1641016800000L, 1641016800000L)),
+                Set.copyOf(SymbolScanner.scan(range(file, 0))));
+    }
+
+    @Test
+    void collectsSymbolsOfLinesCrossingBuffer() throws IOException {
+        Path file = sourceDir.resolve("values.csv");
+        Files.writeString(file, IntStream.range(0, 10000)
+                .mapToObj(i -> "1641009600000,S" + (i % 7) + ",1.5\n")
+                .collect(Collectors.joining()));
+
+        assertEquals(IntStream.range(0, 7).mapToObj(i -> "S" + i).collect(Collectors.toSet()),
+                symbols(SymbolScanner.scan(range(file, 0))));
+    }
+
+    private static Set<String> symbols(List<IngestSpan> spans) {
+        return spans.stream().map(IngestSpan::getSymbol).collect(Collectors.toSet());
+    }
+
+    private static FileRangeResource range(Path file, long start) throws IOException {
+        return new FileRangeResource(file.toFile(), start, Files.size(file));
+    }
+}
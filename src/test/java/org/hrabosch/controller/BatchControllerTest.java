@@ -1,5 +1,6 @@
 package org.hrabosch.controller;
 
+import org.hrabosch.model.BatchJobStatus;
 import org.hrabosch.service.BatchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +13,9 @@ import org.springframework.batch.core.launch.NoSuchJobInstanceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -36,25 +38,47 @@ class BatchControllerTest {
     void refreshDataException() throws JobExecutionException {
         doThrow(new JobExecutionException(ERROR_MESSAGE)).when(batchService).triggerReload();
 
-        ResponseEntity<HttpStatus> responseEntity = batchController.refreshData();
+        ResponseEntity<BatchJobStatus> responseEntity = batchController.refreshData();
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, responseEntity.getStatusCode());
     }
 
     @Test
     void refreshDataTriggeredSuccessfully() throws JobExecutionException {
-        doNothing().when(batchService).triggerReload();
+        when(batchService.triggerReload()).thenReturn(BatchJobStatus.of(new JobExecution(JOB_EXECUTION_ID)));
 
-        ResponseEntity<HttpStatus> responseEntity = batchController.refreshData();
+        ResponseEntity<BatchJobStatus> responseEntity = batchController.refreshData();
 
         assertEquals(HttpStatus.ACCEPTED, responseEntity.getStatusCode());
+        assertEquals(JOB_EXECUTION_ID, responseEntity.getBody().getExecutionId());
+        assertEquals("/api/batch/executions/" + JOB_EXECUTION_ID, responseEntity.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    void batchExecStatusSuccess() {
+        when(batchService.getBatchProcess(JOB_EXECUTION_ID))
+                .thenReturn(Optional.of(BatchJobStatus.of(new JobExecution(JOB_EXECUTION_ID))));
+
+        ResponseEntity<BatchJobStatus> responseEntity = batchController.batchExecStatus(JOB_EXECUTION_ID);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(JOB_EXECUTION_ID, responseEntity.getBody().getExecutionId());
+    }
+
+    @Test
+    void batchExecStatusNotFound() {
+        when(batchService.getBatchProcess(JOB_EXECUTION_ID)).thenReturn(Optional.empty());
+
+        ResponseEntity<BatchJobStatus> responseEntity = batchController.batchExecStatus(JOB_EXECUTION_ID);
+
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
     }
 
     @Test
     void lastBatchExecStatusSuccess() throws NoSuchJobInstanceException {
-        when(batchService.getLastBatchProcess()).thenReturn(new JobExecution(JOB_EXECUTION_ID));
+        when(batchService.getLastBatchProcess()).thenReturn(BatchJobStatus.of(new JobExecution(JOB_EXECUTION_ID)));
 
-        ResponseEntity<JobExecution> responseEntity = batchController.lastBatchExecStatus();
+        ResponseEntity<BatchJobStatus> responseEntity = batchController.lastBatchExecStatus();
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     }
@@ -63,7 +87,7 @@ class BatchControllerTest {
     void lastBatchExecStatusNoJobException() throws NoSuchJobInstanceException {
         when(batchService.getLastBatchProcess()).thenThrow(new NoSuchJobInstanceException(ERROR_MESSAGE));
 
-        ResponseEntity<JobExecution> responseEntity = batchController.lastBatchExecStatus();
+        ResponseEntity<BatchJobStatus> responseEntity = batchController.lastBatchExecStatus();
 
         assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
     }
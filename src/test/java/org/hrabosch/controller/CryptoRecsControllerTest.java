@@ -1,9 +1,16 @@
 package org.hrabosch.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceCandles;
 import org.hrabosch.model.CryptoPriceComputed;
+import org.hrabosch.model.CryptoPriceCursor;
+import org.hrabosch.model.CryptoPriceDailyHighest;
+import org.hrabosch.model.CryptoPriceRollingNormalized;
 import org.hrabosch.model.CryptoPriceStatistics;
+import org.hrabosch.model.CryptoPriceStatisticsMatrix;
 import org.hrabosch.service.CryptoRecsService;
+import org.hrabosch.store.CandleInterval;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,14 +20,20 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -29,6 +42,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,7 +63,7 @@ class CryptoRecsControllerTest {
 
     @BeforeEach
     void setUp() {
-        cryptoRecsController = new CryptoRecsController(cryptoRecsService);
+        cryptoRecsController = new CryptoRecsController(cryptoRecsService, new ObjectMapper());
     }
 
     @Test
@@ -90,6 +105,62 @@ class CryptoRecsControllerTest {
         assertEquals(COUNT, responseEntity.getBody().size());
     }
 
+    @Test
+    void getAvailableCryptosPageWithNextCursor() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CryptoPrice> dummyCryptos = generateDummyData(COUNT, now, SYMBOLS[0], PRICE);
+
+        when(cryptoRecsService.findPage(Optional.empty(), Optional.empty(), COUNT)).thenReturn(dummyCryptos);
+
+        ResponseEntity<List<CryptoPrice>> responseEntity =
+                cryptoRecsController.getAvailableCryptosPage(Optional.empty(), COUNT, Optional.empty());
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        String nextCursor = responseEntity.getHeaders().getFirst(CryptoRecsController.NEXT_CURSOR_HEADER);
+        assertEquals(new CryptoPriceCursor(SYMBOLS[0], now.getTime()), CryptoPriceCursor.decode(nextCursor));
+    }
+
+    @Test
+    void getAvailableCryptosLastPage() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        CryptoPriceCursor cursor = new CryptoPriceCursor(SYMBOLS[0], now.getTime());
+        List<CryptoPrice> dummyCryptos = generateDummyData(COUNT / 2, now, SYMBOLS[1], PRICE);
+
+        when(cryptoRecsService.findPage(Optional.empty(), Optional.of(cursor), COUNT)).thenReturn(dummyCryptos);
+
+        ResponseEntity<List<CryptoPrice>> responseEntity =
+                cryptoRecsController.getAvailableCryptosPage(Optional.empty(), COUNT, Optional.of(cursor.encode()));
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(COUNT / 2, responseEntity.getBody().size());
+        assertFalse(responseEntity.getHeaders().containsKey(CryptoRecsController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAvailableCryptosPageBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getAvailableCryptosPage(Optional.empty(), 0, Optional.empty()).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getAvailableCryptosPage(Optional.empty(), COUNT, Optional.of("bm90LWEtY3Vyc29y")).getStatusCode());
+    }
+
+    @Test
+    void streamAvailableCryptosWritesLinePerPrice() throws IOException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CryptoPrice> dummyCryptos = generateDummyData(COUNT, now, SYMBOLS[0], PRICE);
+        doAnswer(invocation -> {
+            dummyCryptos.forEach(invocation.<Consumer<CryptoPrice>>getArgument(1));
+            return null;
+        }).when(cryptoRecsService).streamPrices(eq(Optional.of(SYMBOLS[0])), any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        cryptoRecsController.streamAvailableCryptos(Optional.of(SYMBOLS[0])).getBody().writeTo(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(COUNT, lines.length);
+        assertEquals(new ObjectMapper().writeValueAsString(dummyCryptos.get(0)), lines[0]);
+    }
+
     @Test
     void getAvailableCryptosForSymbolNoContent() {
 
@@ -125,6 +196,26 @@ class CryptoRecsControllerTest {
         assertNull(responseEntity.getBody());
     }
 
+    @Test
+    void getNormalizedPageSuccess() {
+        List<CryptoPriceComputed> priceComputeds = generateNormalized(PRICE, SYMBOLS);
+
+        when(cryptoRecsService.getNormalizedPage(Sort.Direction.ASC, 10, 3)).thenReturn(priceComputeds);
+
+        ResponseEntity<List<CryptoPriceComputed>> responseEntity = cryptoRecsController
+                .getNormalizedPage(Sort.Direction.ASC, 3, 10);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(priceComputeds, responseEntity.getBody());
+    }
+
+    @Test
+    void getNormalizedPageBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController.getNormalizedPage(Sort.Direction.DESC, 0, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController.getNormalizedPage(Sort.Direction.DESC, 10, -1).getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
     @Test
     void getHighestNormalizedForDaySuccess() {
         List<CryptoPriceComputed> priceComputeds = generateNormalized(PRICE, SYMBOLS[0]);
@@ -150,6 +241,93 @@ class CryptoRecsControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
     }
 
+    @Test
+    void getHighestNormalizedForDaysSuccess() {
+        List<CryptoPriceDailyHighest> results = List.of(new CryptoPriceDailyHighest(LocalDate.now(), SYMBOLS[0], PRICE));
+        when(cryptoRecsService.getHighestNormalizeOfDays(LocalDate.now().minusDays(1), LocalDate.now())).thenReturn(results);
+
+        ResponseEntity<List<CryptoPriceDailyHighest>> responseEntity = cryptoRecsController
+                .getHighestNormalizedForDays(LocalDate.now().minusDays(1), LocalDate.now());
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(results, responseEntity.getBody());
+    }
+
+    @Test
+    void getHighestNormalizedForDaysBadRange() {
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getHighestNormalizedForDays(LocalDate.now(), LocalDate.now().minusDays(1)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController.getHighestNormalizedForDays(
+                LocalDate.now().minusDays(CryptoRecsController.MAX_DAYS), LocalDate.now()).getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
+    @Test
+    void getStatisticsMatrixSuccess() {
+        List<YearMonth> months = List.of(YearMonth.of(2022, 1), YearMonth.of(2022, 2));
+        CryptoPriceStatisticsMatrix matrix = new CryptoPriceStatisticsMatrix(List.of(SYMBOLS[0]), months);
+        when(cryptoRecsService.getStatisticsMatrix(Optional.empty(), months)).thenReturn(matrix);
+
+        ResponseEntity<CryptoPriceStatisticsMatrix> responseEntity = cryptoRecsController
+                .getStatisticsMatrix(Optional.empty(), months);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(matrix, responseEntity.getBody());
+    }
+
+    @Test
+    void getStatisticsMatrixTooManyMonths() {
+        List<YearMonth> months = IntStream.rangeClosed(0, CryptoRecsController.MAX_MONTHS)
+                .mapToObj(i -> YearMonth.of(2022, 1).plusMonths(i))
+                .collect(Collectors.toList());
+
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController.getStatisticsMatrix(Optional.empty(), months).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController.getStatisticsMatrix(Optional.empty(), List.of()).getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
+    @Test
+    void getHighestRollingNormalizedSuccess() {
+        List<CryptoPriceRollingNormalized> results = List.of(
+                new CryptoPriceRollingNormalized(SYMBOLS[0], NOW, 1.0, PRICE, PRICE * 2));
+
+        when(cryptoRecsService.getHighestRollingNormalized(Duration.ofHours(24))).thenReturn(results);
+
+        ResponseEntity<List<CryptoPriceRollingNormalized>> responseEntity = cryptoRecsController
+                .getHighestRollingNormalized("24h");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(results, responseEntity.getBody());
+    }
+
+    @Test
+    void getRollingNormalizedOfUnknownSymbolNoContent() {
+        when(cryptoRecsService.getRollingNormalized(SYMBOLS[0], Duration.ofHours(24), NOW, NOW)).thenReturn(List.of());
+
+        ResponseEntity<List<CryptoPriceRollingNormalized>> responseEntity = cryptoRecsController
+                .getRollingNormalized(SYMBOLS[0], "24h", NOW, NOW);
+
+        assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void getRollingNormalizedOfEmptyWindowBadRequest() {
+        ResponseEntity<List<CryptoPriceRollingNormalized>> responseEntity = cryptoRecsController
+                .getRollingNormalized(SYMBOLS[0], "0s", NOW, NOW);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
+    @Test
+    void getRollingNormalizedOfBadRangeBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getRollingNormalized(SYMBOLS[0], "24h", NOW, NOW.minusSeconds(1)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getRollingNormalized(SYMBOLS[0], "24h", NOW.minusDays(CryptoRecsController.MAX_DAYS), NOW).getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
     @Test
     void getStatisticsForAll() {
         List<CryptoPriceStatistics> dummyStatistics = generateStatistics(PRICE, PRICE / 2, NOW.minusDays(2), NOW, SYMBOLS);
@@ -176,6 +354,48 @@ class CryptoRecsControllerTest {
         assertEquals(SYMBOLS.length, responseEntity.getBody().size());
     }
 
+    @Test
+    void getCandlesOfInterval() {
+        List<CryptoPriceCandles> candles = List.of(new CryptoPriceCandles(SYMBOLS[0], "1d",
+                List.of(new CryptoPriceCandles.Candle(NOW, PRICE, PRICE * 2, PRICE / 2, PRICE, COUNT))));
+
+        when(cryptoRecsService.getCandles(Optional.of(SYMBOLS[0]), CandleInterval.DAY, NOW, NOW)).thenReturn(candles);
+
+        ResponseEntity<List<CryptoPriceCandles>> responseEntity = cryptoRecsController
+                .getCandles(Optional.of(SYMBOLS[0]), "1d", NOW, NOW);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(candles, responseEntity.getBody());
+    }
+
+    @Test
+    void getCandlesOfUnknownSymbolNoContent() {
+        when(cryptoRecsService.getCandles(Optional.of(SYMBOLS[0]), CandleInterval.DAY, NOW, NOW)).thenReturn(List.of());
+
+        ResponseEntity<List<CryptoPriceCandles>> responseEntity = cryptoRecsController
+                .getCandles(Optional.of(SYMBOLS[0]), "1d", NOW, NOW);
+
+        assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void getCandlesOfUnknownIntervalBadRequest() {
+        ResponseEntity<List<CryptoPriceCandles>> responseEntity = cryptoRecsController
+                .getCandles(Optional.empty(), "2h", NOW, NOW);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
+    @Test
+    void getCandlesOfBadRangeBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getCandles(Optional.empty(), "1h", NOW, NOW.minusHours(1)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cryptoRecsController
+                .getCandles(Optional.empty(), "1m", NOW.minusMinutes(CryptoRecsController.MAX_CANDLES), NOW).getStatusCode());
+        verifyNoInteractions(cryptoRecsService);
+    }
+
     private static List<CryptoPrice> generateDummyData(Integer cout, Timestamp tp, String symbol, Double price) {
         List<CryptoPrice> cryptoPrices = new ArrayList<>(cout);
         IntStream.range(0, cout).forEach(i -> cryptoPrices.add(new CryptoPrice(tp, symbol, price)));
@@ -0,0 +1,240 @@
+package org.hrabosch.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts application on random port with generated dataset and drives {@code /api/crypto} endpoints by concurrent
+ * clients sending weighted mix of requests with random parameters. Reports latency percentiles and throughput per
+ * endpoint and heap use. Sizes are set by {@code loadTest.*} system properties, run by {@code loadTest} Gradle task.
+ */
+@Slf4j
+@Tag("load")
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "disableSymbols="})
+class CryptoRecsLoadTest {
+
+    private static final int SYMBOLS = Integer.getInteger("loadTest.symbols", 20);
+    private static final Duration TICK = duration("loadTest.tick", "15m");
+    private static final Duration SPAN = duration("loadTest.span", "90d");
+    private static final int CLIENTS = Integer.getInteger("loadTest.clients", 8);
+    private static final Duration WARMUP = duration("loadTest.warmup", "5s");
+    private static final Duration DURATION = duration("loadTest.duration", "30s");
+    private static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HEAP_SAMPLING_MILLIS = 100;
+    private static final int PAGE_LIMIT = 100;
+    private static final int MAX_RANGE_DAYS = 14;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final int NORMALIZED_ALL_WEIGHT = 25;
+    private static final int NORMALIZED_TOP_WEIGHT = 20;
+    private static final int STATISTICS_WEIGHT = 15;
+    private static final int SYMBOL_STATISTICS_WEIGHT = 15;
+    private static final int RANGE_STATISTICS_WEIGHT = 10;
+    private static final int LIST_PAGE_WEIGHT = 10;
+    private static final int LIST_STREAM_WEIGHT = 5;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static Path dataset;
+    private static List<String> symbols;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private record Sample(String endpoint, long nanos, int status) {
+    }
+
+    private record Endpoint(String name, int weight, Function<ThreadLocalRandom, String> path) {
+    }
+
+    @DynamicPropertySource
+    static void generateDataset(DynamicPropertyRegistry registry) throws IOException {
+        dataset = Files.createTempDirectory("crypto-recs-load-test");
+        CsvPriceGenerator generator = new CsvPriceGenerator();
+        generator.setSymbols(SYMBOLS);
+        generator.setTick(TICK);
+        generator.setStart(START);
+        generator.setSpan(SPAN);
+        symbols = generator.getSymbolNames();
+        long rows = generator.write(dataset);
+        log.info("Generated {} rows of {} symbols into {}", rows, SYMBOLS, dataset);
+        registry.add("input.sourceDir", () -> dataset + "/");
+    }
+
+    @AfterAll
+    static void deleteDataset() throws IOException {
+        FileSystemUtils.deleteRecursively(dataset);
+    }
+
+    @Test
+    void endpointMix() throws Exception {
+        List<Endpoint> endpoints = endpoints();
+        drive(endpoints, WARMUP);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        heapSampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, HEAP_SAMPLING_MILLIS, TimeUnit.MILLISECONDS);
+        long started = System.nanoTime();
+        List<Sample> samples = drive(endpoints, DURATION);
+        double seconds = (double) (System.nanoTime() - started) / NANOS_PER_SECOND;
+        heapSampler.shutdownNow();
+        memory.gc();
+
+        report(samples, seconds, peakHeap.get(), memory.getHeapMemoryUsage().getUsed());
+        assertEquals(List.of(), samples.stream().filter(sample -> !HttpStatus.valueOf(sample.status()).is2xxSuccessful())
+                .map(sample -> sample.endpoint() + " " + sample.status()).distinct().toList());
+        assertEquals(endpoints.size(), samples.stream().map(Sample::endpoint).distinct().count());
+    }
+
+    private List<Endpoint> endpoints() {
+        return List.of(
+                new Endpoint("normalized/all", NORMALIZED_ALL_WEIGHT,
+                        random -> "/normalized/all?sort=" + (random.nextBoolean() ? "ASC" : "DESC")),
+                new Endpoint("normalized/top", NORMALIZED_TOP_WEIGHT, random -> "/normalized/top?date=" + randomDay(random)),
+                new Endpoint("statistics", STATISTICS_WEIGHT, random -> "/statistics?yearMonth=" + randomDay(random)),
+                new Endpoint("statistics/{symbol}", SYMBOL_STATISTICS_WEIGHT, random -> "/statistics/" + randomSymbol(random)),
+                new Endpoint("range-statistics", RANGE_STATISTICS_WEIGHT, random -> {
+                    LocalDateTime from = randomDay(random).atStartOfDay();
+                    LocalDateTime to = from.plusDays(random.nextInt(1, MAX_RANGE_DAYS));
+                    return "/range-statistics?from=" + encode(from.format(DATE_TIME)) + "&to=" + encode(to.format(DATE_TIME));
+                }),
+                new Endpoint("list?limit", LIST_PAGE_WEIGHT,
+                        random -> "/list?symbol=" + randomSymbol(random) + "&limit=" + PAGE_LIMIT),
+                new Endpoint("list/stream", LIST_STREAM_WEIGHT, random -> "/list/stream?symbol=" + randomSymbol(random)));
+    }
+
+    private List<Sample> drive(List<Endpoint> endpoints, Duration duration) throws Exception {
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<List<Sample>>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                futures.add(clients.submit(() -> {
+                    List<Sample> samples = new ArrayList<>();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        samples.add(send(pick(endpoints, random.nextInt(totalWeight)), random));
+                    }
+                    return samples;
+                }));
+            }
+            List<Sample> samples = new ArrayList<>();
+            for (Future<List<Sample>> future : futures) {
+                samples.addAll(future.get());
+            }
+            return samples;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Sample send(Endpoint endpoint, ThreadLocalRandom random) throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:" + port + "/api/crypto" + endpoint.path().apply(random));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+        long started = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return new Sample(endpoint.name(), System.nanoTime() - started, response.statusCode());
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int ticket) {
+        int remaining = ticket;
+        for (Endpoint endpoint : endpoints) {
+            remaining -= endpoint.weight();
+            if (remaining < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Ticket out of total weight: " + ticket);
+    }
+
+    private static void report(List<Sample> samples, double seconds, long peakHeap, long heapAfterGc) {
+        Map<String, List<Sample>> byEndpoint = new TreeMap<>(samples.stream().collect(Collectors.groupingBy(Sample::endpoint)));
+        byEndpoint.put("total", samples);
+        StringBuilder report = new StringBuilder(String.format("%n%-22s %9s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms"));
+        byEndpoint.forEach((endpoint, endpointSamples) -> {
+            long[] nanos = endpointSamples.stream().mapToLong(Sample::nanos).sorted().toArray();
+            report.append(String.format("%-22s %9d %10.1f %10.2f %10.2f%n", endpoint, nanos.length, nanos.length / seconds,
+                    percentile(nanos, P50), percentile(nanos, P99)));
+        });
+        report.append(String.format("heap: peak %d MB, after GC %d MB",
+                peakHeap / BYTES_PER_MEGABYTE, heapAfterGc / BYTES_PER_MEGABYTE));
+        log.info("Load test of {} clients for {}:{}", CLIENTS, DURATION, report);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return (double) sortedNanos[Math.max(0, index)] / NANOS_PER_MILLI;
+    }
+
+    private static LocalDate randomDay(ThreadLocalRandom random) {
+        return LocalDate.ofInstant(START, ZoneId.systemDefault()).plusDays(random.nextLong(SPAN.toDays()));
+    }
+
+    private static String randomSymbol(ThreadLocalRandom random) {
+        return symbols.get(random.nextInt(symbols.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,208 @@
+package org.hrabosch.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic {@code <SYMBOL>_values.csv} files in {@code input.headers} format. Prices of every symbol follow
+ * geometric random walk sampled each tick, series contain random gaps (no ticks for a while) and duplicated lines.
+ * Output is deterministic for given seed.
+ * <p>
+ * Runnable with options named as setters, e.g. {@code --directory=/tmp/prices --symbols=50 --tick=1m --span=90d}.
+ */
+public class CsvPriceGenerator {
+
+    private static final String DEFAULT_HEADERS = "timestamp,symbol,price";
+    private static final int DEFAULT_SYMBOLS = 5;
+    private static final Duration DEFAULT_TICK = Duration.ofHours(1);
+    private static final Duration DEFAULT_SPAN = Duration.ofDays(31);
+    private static final Instant DEFAULT_START = Instant.parse("2022-01-01T00:00:00Z");
+    private static final double DEFAULT_GAP_PROBABILITY = 0.001;
+    private static final int DEFAULT_MAX_GAP_TICKS = 100;
+    private static final double DEFAULT_DUPLICATE_PROBABILITY = 0.001;
+    private static final double DEFAULT_VOLATILITY = 0.01;
+    private static final double MIN_INITIAL_PRICE = 0.01;
+    private static final double MAX_INITIAL_PRICE = 50_000;
+    private static final MathContext PRICE_PRECISION = new MathContext(6);
+    private static final int MIN_SYMBOL_LENGTH = 3;
+    private static final int LETTERS = 26;
+
+    private List<String> headers = List.of(DEFAULT_HEADERS.split(","));
+    private int symbols = DEFAULT_SYMBOLS;
+    private Duration tick = DEFAULT_TICK;
+    private Instant start = DEFAULT_START;
+    private Duration span = DEFAULT_SPAN;
+    private double gapProbability = DEFAULT_GAP_PROBABILITY;
+    private int maxGapTicks = DEFAULT_MAX_GAP_TICKS;
+    private double duplicateProbability = DEFAULT_DUPLICATE_PROBABILITY;
+    private double volatility = DEFAULT_VOLATILITY;
+    private long seed;
+
+    public static void main(String[] args) throws IOException {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        CsvPriceGenerator generator = new CsvPriceGenerator();
+        if (options.containsProperty("headers")) {
+            generator.setHeaders(options.getProperty("headers"));
+        }
+        if (options.containsProperty("symbols")) {
+            generator.setSymbols(Integer.parseInt(options.getProperty("symbols")));
+        }
+        if (options.containsProperty("tick")) {
+            generator.setTick(DurationStyle.detectAndParse(options.getProperty("tick")));
+        }
+        if (options.containsProperty("start")) {
+            generator.setStart(Instant.parse(options.getProperty("start")));
+        }
+        if (options.containsProperty("span")) {
+            generator.setSpan(DurationStyle.detectAndParse(options.getProperty("span")));
+        }
+        if (options.containsProperty("gapProbability")) {
+            generator.setGapProbability(Double.parseDouble(options.getProperty("gapProbability")));
+        }
+        if (options.containsProperty("maxGapTicks")) {
+            generator.setMaxGapTicks(Integer.parseInt(options.getProperty("maxGapTicks")));
+        }
+        if (options.containsProperty("duplicateProbability")) {
+            generator.setDuplicateProbability(Double.parseDouble(options.getProperty("duplicateProbability")));
+        }
+        if (options.containsProperty("volatility")) {
+            generator.setVolatility(Double.parseDouble(options.getProperty("volatility")));
+        }
+        if (options.containsProperty("seed")) {
+            generator.setSeed(Long.parseLong(options.getProperty("seed")));
+        }
+        Path directory = Path.of(options.containsProperty("directory") ? options.getProperty("directory") : ".");
+        Files.createDirectories(directory);
+        long rows = generator.write(directory);
+        System.out.printf("Written %d rows of %d symbols into %s%n", rows, generator.symbols, directory.toAbsolutePath());
+    }
+
+    /**
+     * Comma separated column names, order of {@code timestamp}, {@code symbol} and {@code price} columns follows them.
+     */
+    public void setHeaders(String headers) {
+        this.headers = List.of(headers.split(","));
+    }
+
+    public void setSymbols(int symbols) {
+        this.symbols = symbols;
+    }
+
+    public void setTick(Duration tick) {
+        this.tick = tick;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public void setSpan(Duration span) {
+        this.span = span;
+    }
+
+    /**
+     * Probability of gap starting at tick, gap length is uniformly distributed up to max gap ticks.
+     */
+    public void setGapProbability(double gapProbability) {
+        this.gapProbability = gapProbability;
+    }
+
+    public void setMaxGapTicks(int maxGapTicks) {
+        this.maxGapTicks = maxGapTicks;
+    }
+
+    /**
+     * Probability of line being written twice.
+     */
+    public void setDuplicateProbability(double duplicateProbability) {
+        this.duplicateProbability = duplicateProbability;
+    }
+
+    /**
+     * Maximal relative price change between two ticks.
+     */
+    public void setVolatility(double volatility) {
+        this.volatility = volatility;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public List<String> getSymbolNames() {
+        List<String> names = new ArrayList<>(symbols);
+        for (int i = 0; i < symbols; i++) {
+            names.add(symbolName(i));
+        }
+        return names;
+    }
+
+    /**
+     * Writes one file per symbol into directory, returns number of written rows.
+     */
+    public long write(Path directory) throws IOException {
+        long rows = 0;
+        for (String symbol : getSymbolNames()) {
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(symbol + "_values.csv"))) {
+                writer.write(String.join(",", headers));
+                writer.newLine();
+                rows += writeSeries(writer, symbol, new SplittableRandom(seed ^ symbol.hashCode()));
+            }
+        }
+        return rows;
+    }
+
+    private long writeSeries(BufferedWriter writer, String symbol, SplittableRandom random) throws IOException {
+        long rows = 0;
+        long end = start.plus(span).toEpochMilli();
+        double price = Math.exp(random.nextDouble(Math.log(MIN_INITIAL_PRICE), Math.log(MAX_INITIAL_PRICE)));
+        for (long timestamp = start.toEpochMilli(); timestamp < end; timestamp += tick.toMillis()) {
+            if (random.nextDouble() < gapProbability) {
+                timestamp += tick.toMillis() * random.nextInt(maxGapTicks + 1);
+                continue;
+            }
+            price *= Math.exp(random.nextDouble(-volatility, volatility));
+            String line = toLine(timestamp, symbol, price);
+            int copies = random.nextDouble() < duplicateProbability ? 2 : 1;
+            for (int copy = 0; copy < copies; copy++) {
+                writer.write(line);
+                writer.newLine();
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private String toLine(long timestamp, String symbol, double price) {
+        List<String> fields = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            switch (header) {
+                case "timestamp" -> fields.add(Long.toString(timestamp));
+                case "symbol" -> fields.add(symbol);
+                case "price" -> fields.add(new BigDecimal(price).round(PRICE_PRECISION).toPlainString());
+                default -> fields.add("");
+            }
+        }
+        return String.join(",", fields);
+    }
+
+    private static String symbolName(int index) {
+        StringBuilder name = new StringBuilder();
+        for (int remaining = index; remaining > 0 || name.length() < MIN_SYMBOL_LENGTH; remaining /= LETTERS) {
+            name.insert(0, (char) ('A' + remaining % LETTERS));
+        }
+        return name.toString();
+    }
+}
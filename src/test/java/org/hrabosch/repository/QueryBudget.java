@@ -0,0 +1,40 @@
+package org.hrabosch.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts maximal number of SQL statements and fetched rows of data access made by call, measured by Hibernate
+ * statistics (enabled by {@code spring.jpa.properties.hibernate.generate_statistics}). Fetched rows are rows
+ * returned by queries together with entities and collections fetched one by one, Hibernate does not count rows
+ * of streamed results.
+ */
+public class QueryBudget {
+
+    private Statistics statistics;
+
+    public QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "Hibernate statistics are disabled");
+    }
+
+    public <T> T assertWithin(long maxStatements, long maxRows, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        long rows = Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum() + statistics.getEntityFetchCount() + statistics.getCollectionFetchCount();
+        String queries = String.join("\n", statistics.getQueries());
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " statements, executed " + statements + ":\n" + queries);
+        assertTrue(rows <= maxRows, "Expected at most " + maxRows + " fetched rows, fetched " + rows + ":\n" + queries);
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package org.hrabosch.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryMetricsInterceptorTest {
+
+    @Mock
+    private MethodInvocation invocation;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RepositoryMetricsInterceptor interceptor =
+            new RepositoryMetricsInterceptor(() -> meterRegistry, CryptoPriceRepository.class);
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void returnedRowsAndCallsOfRequestAreRecorded() throws Throwable {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(invocation.getMethod()).thenReturn(CryptoPriceRepository.class.getMethod("findAll"));
+        when(invocation.proceed()).thenReturn(List.of("a", "b", "c"));
+
+        interceptor.invoke(invocation);
+        interceptor.invoke(invocation);
+
+        assertEquals(2, meterRegistry.get(RepositoryMetricsInterceptor.QUERY_TIMER)
+                .tag("repository", "CryptoPriceRepository").tag("method", "findAll").timer().count());
+        assertEquals(6, meterRegistry.get(RepositoryMetricsInterceptor.ROWS_SUMMARY).summary().totalAmount());
+        assertEquals(2, ((AtomicLong) request.getAttribute(RepositoryMetricsInterceptor.CALLS_ATTRIBUTE)).get());
+    }
+
+    @Test
+    void streamedRowsAreRecordedWhenStreamIsClosed() throws Throwable {
+        when(invocation.getMethod()).thenReturn(CryptoPriceRepository.class.getMethod("findAll"));
+        when(invocation.proceed()).thenReturn(Stream.of("a", "b"));
+
+        try (Stream<?> rows = (Stream<?>) interceptor.invoke(invocation)) {
+            assertEquals(List.of("a", "b"), rows.toList());
+            assertEquals(0, meterRegistry.get(RepositoryMetricsInterceptor.ROWS_SUMMARY).summary().count());
+        }
+        assertEquals(2, meterRegistry.get(RepositoryMetricsInterceptor.ROWS_SUMMARY).summary().totalAmount());
+    }
+}
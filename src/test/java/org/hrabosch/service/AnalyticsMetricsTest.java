@@ -0,0 +1,38 @@
+package org.hrabosch.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalyticsMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AnalyticsMetrics analyticsMetrics = new AnalyticsMetrics(meterRegistry);
+
+    @Test
+    void symbolCountIsBucketed() {
+        assertEquals(AnalyticsMetrics.NO_SYMBOLS, AnalyticsMetrics.symbolBucket(0));
+        assertEquals("1", AnalyticsMetrics.symbolBucket(1));
+        assertEquals("2-10", AnalyticsMetrics.symbolBucket(5));
+        assertEquals("101-1000", AnalyticsMetrics.symbolBucket(1000));
+        assertEquals("1001+", AnalyticsMetrics.symbolBucket(5000));
+    }
+
+    @Test
+    void computationIsTimedByMethodPathAndSymbols() {
+        List<String> result = analyticsMetrics.time("getAllNormalized", AnalyticsMetrics.STORE_PATH,
+                () -> List.of("AAA", "BBB"), List::size);
+
+        assertEquals(List.of("AAA", "BBB"), result);
+        assertEquals(1, meterRegistry.get(AnalyticsMetrics.ANALYTICS_TIMER)
+                .tag("method", "getAllNormalized")
+                .tag("path", AnalyticsMetrics.STORE_PATH)
+                .tag("symbols", "2-10")
+                .timer()
+                .count());
+    }
+}
@@ -1,5 +1,6 @@
 package org.hrabosch.service;
 
+import org.hrabosch.model.BatchJobStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,10 +14,14 @@ import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.launch.NoSuchJobInstanceException;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -47,9 +52,30 @@ class BatchServiceTest {
     void testTriggeringReload() throws JobExecutionException {
         when(jobLauncher.run(any(), any())).thenReturn(new JobExecution(JOB_ID));
 
-        batchService.triggerReload();
+        BatchJobStatus status = batchService.triggerReload();
 
         verify(jobLauncher, times(1)).run(any(), any());
+        assertEquals(JOB_ID, status.getExecutionId());
+    }
+
+    @Test
+    void testTriggeringReloadJoinsRunningExecution() throws JobExecutionException {
+        when(jobExplorer.findRunningJobExecutions(anyString())).thenReturn(Set.of(new JobExecution(JOB_EXEC_ID)));
+
+        BatchJobStatus status = batchService.triggerReload();
+
+        verify(jobLauncher, never()).run(any(), any());
+        assertEquals(JOB_EXEC_ID, status.getExecutionId());
+    }
+
+    @Test
+    void testGetBatchJobExecutionById() {
+        JobExecution jobExec = new JobExecution(JOB_EXEC_ID);
+        jobExec.setJobInstance(new JobInstance(JOB_ID, "csvImportJob"));
+        when(jobExplorer.getJobExecution(JOB_EXEC_ID)).thenReturn(jobExec);
+
+        assertEquals(JOB_EXEC_ID, batchService.getBatchProcess(JOB_EXEC_ID).orElseThrow().getExecutionId());
+        assertTrue(batchService.getBatchProcess(JOB_ID).isEmpty());
     }
 
     @Test
@@ -61,11 +87,10 @@ class BatchServiceTest {
         when(jobExplorer.getLastJobInstance(anyString())).thenReturn(jobInstance);
         when(jobExplorer.getLastJobExecution(jobInstance)).thenReturn(jobExec);
 
-        JobExecution jobExecution = batchService.getLastBatchProcess();
+        BatchJobStatus status = batchService.getLastBatchProcess();
 
-        assertEquals(JOB_EXEC_ID, jobExecution.getId());
-        assertEquals(JOB_ID, jobExecution.getJobId());
-        assertEquals(JOB_NAME, jobExecution.getJobInstance().getJobName());
+        assertEquals(JOB_EXEC_ID, status.getExecutionId());
+        assertEquals(jobExec.getStatus().name(), status.getStatus());
     }
 
     @Test
@@ -0,0 +1,156 @@
+package org.hrabosch.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hrabosch.batching.CryptoPriceJdbcItemWriter;
+import org.hrabosch.batching.CryptoPriceRollupTasklet;
+import org.hrabosch.batching.SymbolDictionary;
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceCursor;
+import org.hrabosch.repository.CryptoPriceDailyRollupRepository;
+import org.hrabosch.repository.CryptoPriceMonthlyRollupRepository;
+import org.hrabosch.repository.CryptoPriceRepository;
+import org.hrabosch.repository.QueryBudget;
+import org.hrabosch.store.CryptoPriceStore;
+import org.hrabosch.store.CryptoPriceStoreInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link CryptoRecsService} against H2 schema and asserts statements and rows each call may cost, so added
+ * per-symbol queries or over-fetching fail the build.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CryptoRecsServiceQueryBudgetTest {
+
+    private static final String[] SYMBOLS = {"AAA", "BBB", "CCC"};
+    private static final String DISABLED_SYMBOL = "MYCOIN";
+    private static final LocalDate DAY = LocalDate.of(2022, 1, 5);
+    private static final int HOURS = 24;
+    private static final int PAGE_LIMIT = 10;
+    private static final int RANGE_HOURS = 6;
+
+    @Autowired
+    private CryptoPriceRepository cryptoPriceRepository;
+    @Autowired
+    private CryptoPriceDailyRollupRepository dailyRollupRepository;
+    @Autowired
+    private CryptoPriceMonthlyRollupRepository monthlyRollupRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private CryptoPriceStore cryptoPriceStore;
+    private SymbolFanOut symbolFanOut;
+    private CryptoRecsService cryptoRecsService;
+    private QueryBudget queryBudget;
+
+    @BeforeEach
+    void setUp() {
+        List<CryptoPrice> prices = new ArrayList<>();
+        for (String symbol : SYMBOLS) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                prices.add(new CryptoPrice(Timestamp.valueOf(DAY.atTime(hour, 0)), symbol, (double) hour + 1));
+            }
+        }
+        new CryptoPriceJdbcItemWriter(new JdbcTemplate(dataSource), new SymbolDictionary(new JdbcTemplate(dataSource),
+                transactionManager), prices.size()).write(new Chunk<>(prices));
+        CryptoPriceStore importStore = new CryptoPriceStore();
+        importStore.reload(prices);
+        new CryptoPriceRollupTasklet(importStore, new JdbcTemplate(dataSource)).persistRollups();
+        cryptoPriceStore = new CryptoPriceStore();
+        symbolFanOut = new SymbolFanOut(Executors.newFixedThreadPool(2), 2, Duration.ofSeconds(5));
+        cryptoRecsService = new CryptoRecsService(cryptoPriceRepository, dailyRollupRepository, monthlyRollupRepository,
+                cryptoPriceStore, symbolFanOut, new AnalyticsMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(cryptoRecsService, "disabledSymbols", List.of(DISABLED_SYMBOL));
+        queryBudget = new QueryBudget(entityManagerFactory);
+    }
+
+    @AfterEach
+    void shutdown() {
+        symbolFanOut.shutdown();
+    }
+
+    @Test
+    void aggregatesAllSymbolsInSingleQueryWhenStoreIsNotLoaded() {
+        assertEquals(SYMBOLS.length, queryBudget.assertWithin(1, SYMBOLS.length,
+                () -> cryptoRecsService.getAllNormalized(Sort.Direction.DESC)).size());
+        assertEquals(SYMBOLS.length, queryBudget.assertWithin(1, SYMBOLS.length,
+                () -> cryptoRecsService.getStatistics(Optional.empty(), Optional.of(DAY))).size());
+        assertEquals(SYMBOLS.length, queryBudget.assertWithin(1, SYMBOLS.length,
+                () -> cryptoRecsService.getStatisticsForTimeRange(Optional.empty(), DAY.atStartOfDay(),
+                        DAY.atStartOfDay().plusHours(RANGE_HOURS))).size());
+        assertTrue(queryBudget.assertWithin(1, SYMBOLS.length, () -> cryptoRecsService.getHighestNormalize(DAY)).isPresent());
+        assertEquals(1, queryBudget.assertWithin(1, 1,
+                () -> cryptoRecsService.getStatistics(Optional.of(SYMBOLS[0]), Optional.of(DAY))).size());
+        assertEquals(1, queryBudget.assertWithin(1, 1,
+                () -> cryptoRecsService.getStatistics(Optional.of(SYMBOLS[0]), Optional.empty())).size());
+        assertEquals(1, queryBudget.assertWithin(1, 1, () -> cryptoRecsService.getStatisticsForTimeRange(Optional.of(SYMBOLS[0]),
+                DAY.atStartOfDay(), DAY.atStartOfDay().plusHours(RANGE_HOURS))).size());
+        assertEquals(1, queryBudget.assertWithin(1, SYMBOLS.length,
+                () -> cryptoRecsService.getHighestNormalizeOfDays(DAY.minusDays(1), DAY.plusDays(1))).size());
+        List<YearMonth> months = List.of(YearMonth.from(DAY).minusMonths(1), YearMonth.from(DAY));
+        assertEquals(SYMBOLS.length, queryBudget.assertWithin(months.size(), SYMBOLS.length,
+                () -> cryptoRecsService.getStatisticsMatrix(Optional.empty(), months)).getSymbols().size());
+    }
+
+    @Test
+    void fetchesOnlyRequestedPrices() {
+        assertEquals(PAGE_LIMIT, queryBudget.assertWithin(1, PAGE_LIMIT,
+                () -> cryptoRecsService.findPage(Optional.empty(), Optional.empty(), PAGE_LIMIT)).size());
+        CryptoPriceCursor cursor = new CryptoPriceCursor(SYMBOLS[1], Timestamp.valueOf(DAY.atStartOfDay()).getTime());
+        assertEquals(PAGE_LIMIT, queryBudget.assertWithin(1, PAGE_LIMIT,
+                () -> cryptoRecsService.findPage(Optional.of(SYMBOLS[1]), Optional.of(cursor), PAGE_LIMIT)).size());
+        assertEquals(HOURS, queryBudget.assertWithin(1, HOURS, () -> cryptoRecsService.findBySymbol(SYMBOLS[0])).size());
+        assertEquals(HOURS, queryBudget.assertWithin(1, HOURS, () -> {
+            AtomicLong streamed = new AtomicLong();
+            cryptoRecsService.streamPrices(Optional.of(SYMBOLS[0]), price -> streamed.incrementAndGet());
+            return streamed.get();
+        }));
+    }
+
+    @Test
+    void servesAnalyticsFromLoadedStoreWithoutQueries() {
+        queryBudget.assertWithin(1, (long) SYMBOLS.length * HOURS, () -> {
+            new CryptoPriceStoreInitializer(cryptoPriceRepository, cryptoPriceStore).loadStore();
+            return cryptoPriceStore.isLoaded();
+        });
+        LocalDateTime from = DAY.atStartOfDay();
+
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getAllNormalized(Sort.Direction.ASC));
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getStatistics(Optional.empty(), Optional.of(DAY)));
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getStatistics(Optional.of(SYMBOLS[0]), Optional.empty()));
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getStatisticsForTimeRange(Optional.empty(), from,
+                from.plusHours(RANGE_HOURS)));
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getHighestNormalize(DAY));
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getHighestNormalizeOfDays(DAY.minusDays(1), DAY.plusDays(1)));
+        queryBudget.assertWithin(0, 0, () -> cryptoRecsService.getStatisticsMatrix(Optional.empty(), List.of(YearMonth.from(DAY))));
+    }
+}
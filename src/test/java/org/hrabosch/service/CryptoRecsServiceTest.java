@@ -1,33 +1,51 @@
 package org.hrabosch.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceAggregate;
+import org.hrabosch.model.CryptoPriceCandles;
 import org.hrabosch.model.CryptoPriceComputed;
+import org.hrabosch.model.CryptoPriceDailyHighest;
+import org.hrabosch.model.CryptoPriceDailyRollup;
+import org.hrabosch.model.CryptoPriceMonthlyRollup;
+import org.hrabosch.model.CryptoPriceRollingNormalized;
+import org.hrabosch.model.CryptoPriceRollup;
 import org.hrabosch.model.CryptoPriceStatistics;
+import org.hrabosch.model.CryptoPriceStatisticsMatrix;
+import org.hrabosch.repository.CryptoPriceDailyRollupRepository;
+import org.hrabosch.repository.CryptoPriceMonthlyRollupRepository;
 import org.hrabosch.repository.CryptoPriceRepository;
+import org.hrabosch.store.CandleInterval;
+import org.hrabosch.store.CryptoPriceStore;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +53,12 @@ class CryptoRecsServiceTest {
 
     @Mock
     private CryptoPriceRepository cryptoPriceRepository;
+    @Mock
+    private CryptoPriceDailyRollupRepository dailyRollupRepository;
+    @Mock
+    private CryptoPriceMonthlyRollupRepository monthlyRollupRepository;
+    private CryptoPriceStore cryptoPriceStore;
+    private SymbolFanOut symbolFanOut;
     private CryptoRecsService cryptoRecsService;
 
     public static final LocalDate NOW = LocalDate.now();
@@ -44,42 +68,43 @@ class CryptoRecsServiceTest {
 
     @BeforeEach
     void initData() {
-        this.cryptoRecsService = new CryptoRecsService(cryptoPriceRepository);
+        this.cryptoPriceStore = new CryptoPriceStore();
+        this.symbolFanOut = new SymbolFanOut(Executors.newFixedThreadPool(2), 2, Duration.ofSeconds(5));
+        this.cryptoRecsService = new CryptoRecsService(cryptoPriceRepository, dailyRollupRepository,
+                monthlyRollupRepository, cryptoPriceStore, symbolFanOut,
+                new AnalyticsMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void shutdown() {
+        symbolFanOut.shutdown();
     }
 
     @Test
     void testHighestNormalizedValueWhenNoDataAvailable() {
-        when(cryptoPriceRepository.findGroupBySymbolWithNativeQuery()).thenReturn(Arrays.asList("ABC", "DEF"));
-        when(cryptoPriceRepository.findAllBySymbolAndTimestamp(anyString(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        Timestamp ts = Timestamp.valueOf(NOW.minusDays(2).atStartOfDay());
+        cryptoPriceStore.reload(generateDummyData(COUNT, ts, SYMBOLS[0], PRICE));
+
         assertFalse(cryptoRecsService.getHighestNormalize(NOW).isPresent());
     }
 
     @Test
     void testHighestNormalizedValueWhenDataAvailable() {
         Timestamp ts = Timestamp.valueOf(NOW.atStartOfDay());
-        List<CryptoPrice> cryptoPriceList = Arrays.asList(
-                new CryptoPrice(ts, SYMBOLS[0], PRICE),
-                new CryptoPrice(ts, SYMBOLS[0], PRICE));
+        List<CryptoPrice> cryptoPriceList = generateDummyDataWithMinMax(COUNT, ts, SYMBOLS[0], PRICE);
+        cryptoPriceList.addAll(generateDummyData(COUNT, ts, SYMBOLS[1], PRICE));
+        cryptoPriceStore.reload(cryptoPriceList);
 
-        when(cryptoPriceRepository.findGroupBySymbolWithNativeQuery()).thenReturn(Arrays.asList(SYMBOLS));
-        when(cryptoPriceRepository.findAllBySymbolAndTimestamp(eq(SYMBOLS[1]), any(), any()))
-                .thenReturn(Arrays.asList(new CryptoPrice(ts, SYMBOLS[1], PRICE)));
-        when(cryptoPriceRepository.findAllBySymbolAndTimestamp(eq(SYMBOLS[0]), any(), any()))
-                .thenReturn(cryptoPriceList);
+        Optional<CryptoPriceComputed> result = cryptoRecsService.getHighestNormalize(NOW);
 
-        assertTrue(cryptoRecsService.getHighestNormalize(NOW).isPresent());
+        assertTrue(result.isPresent());
+        assertEquals(SYMBOLS[0], result.get().getSymbol());
     }
 
     @Test
     void testComputeStatisticsForAllData() {
         Timestamp ts = Timestamp.valueOf(NOW.atStartOfDay());
-        List<CryptoPrice> cryptoPriceList = Arrays.asList(
-                new CryptoPrice(ts, SYMBOLS[0], PRICE),
-                new CryptoPrice(ts, SYMBOLS[0], PRICE));
-
-        when(cryptoPriceRepository.findGroupBySymbolWithNativeQuery()).thenReturn(Arrays.asList(SYMBOLS[0]));
-        when(cryptoPriceRepository.findAll(any(Specification.class))).thenReturn(cryptoPriceList);
+        cryptoPriceStore.reload(generateDummyData(COUNT, ts, SYMBOLS[0], PRICE));
 
         List<CryptoPriceStatistics> result = cryptoRecsService.getStatistics(
                 Optional.empty(),
@@ -91,12 +116,8 @@ class CryptoRecsServiceTest {
 
     @Test
     void testComputeStatisticsForGivenSymbol() {
-        Timestamp ts = Timestamp.valueOf(NOW.atStartOfDay());
-        List<CryptoPrice> dummy = generateDummyData(COUNT, ts, SYMBOLS[0], PRICE);
-        dummy.addAll(generateDummyData(COUNT - (COUNT - 1), ts, SYMBOLS[0], PRICE / 2));
-        dummy.addAll(generateDummyData(COUNT - (COUNT - 1), ts, SYMBOLS[0], PRICE * 2));
-
-        when(cryptoPriceRepository.findAll(any(Specification.class))).thenReturn(dummy);
+        Timestamp ts = Timestamp.valueOf(NOW.withDayOfMonth(1).atStartOfDay());
+        cryptoPriceStore.reload(generateDummyDataWithMinMax(COUNT, ts, SYMBOLS[0], PRICE));
 
         List<CryptoPriceStatistics> result = cryptoRecsService.getStatistics(
                 Optional.of(SYMBOLS[0]),
@@ -106,17 +127,30 @@ class CryptoRecsServiceTest {
         assertEquals(result.get(0).getMinPrice(), PRICE / 2);
     }
 
+    @Test
+    void testStatisticsOfDisabledSymbolAreEmpty() {
+        LocalDateTime start = NOW.withDayOfMonth(1).atStartOfDay();
+        CryptoPriceStatistics empty = new CryptoPriceStatistics(SYMBOLS[0], null, null, null, null);
+        ReflectionTestUtils.setField(cryptoRecsService, "disabledSymbols", List.of(SYMBOLS[0]));
+
+        assertEquals(List.of(empty), cryptoRecsService.getStatistics(Optional.of(SYMBOLS[0]), Optional.empty()));
+
+        cryptoPriceStore.reload(generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(start), SYMBOLS[0], PRICE));
+
+        assertEquals(List.of(empty), cryptoRecsService.getStatistics(Optional.of(SYMBOLS[0]), Optional.of(NOW)));
+        assertEquals(List.of(empty), cryptoRecsService.getStatisticsForTimeRange(Optional.of(SYMBOLS[0]), start,
+                start.plusHours(1)));
+        verifyNoInteractions(cryptoPriceRepository, monthlyRollupRepository);
+    }
+
     @Test
     void testStatisticsForAllInDefinedRange() {
         LocalDateTime now = LocalDateTime.now();
         Timestamp ts = Timestamp.valueOf(now);
-        List<CryptoPrice> dummy = generateDummyDataWithMinMax(COUNT, ts, SYMBOLS[0], PRICE);
-
-        when(cryptoPriceRepository.findGroupBySymbolWithNativeQuery()).thenReturn(Collections.singletonList(SYMBOLS[0]));
-        when(cryptoPriceRepository.findAll(any(Specification.class))).thenReturn(dummy);
+        cryptoPriceStore.reload(generateDummyDataWithMinMax(COUNT, ts, SYMBOLS[0], PRICE));
 
         List<CryptoPriceStatistics> result = cryptoRecsService
-                .getStatisticsForTimeRange(Optional.empty(), now, now);
+                .getStatisticsForTimeRange(Optional.empty(), now, now.plusSeconds(1));
 
         assertEquals(1, result.size());
         CryptoPriceStatistics stats = result.get(0);
@@ -124,13 +158,119 @@ class CryptoRecsServiceTest {
         assertEquals(SYMBOLS[0], stats.getSymbol());
     }
 
+    @Test
+    void testHourCandlesForAllSymbols() {
+        LocalDateTime start = NOW.atStartOfDay();
+        cryptoPriceStore.reload(generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(start), SYMBOLS[0], PRICE));
+
+        List<CryptoPriceCandles> result = cryptoRecsService.getCandles(Optional.empty(), CandleInterval.HOUR, start,
+                start.plusHours(1));
+
+        assertEquals(1, result.size());
+        assertEquals("1h", result.get(0).getInterval());
+        CryptoPriceCandles.Candle candle = result.get(0).getCandles().get(0);
+        assertEquals(start, candle.getStart());
+        assertEquals(PRICE, candle.getOpen());
+        assertEquals(PRICE * 2, candle.getHigh());
+        assertEquals(PRICE / 2, candle.getLow());
+        assertEquals(PRICE * 2, candle.getClose());
+        assertEquals(COUNT + 2, candle.getCount());
+    }
+
+    @Test
+    void testCandlesOmitUnknownAndDisabledSymbols() {
+        LocalDateTime start = NOW.atStartOfDay();
+        List<CryptoPrice> prices = generateDummyData(COUNT, Timestamp.valueOf(start), SYMBOLS[0], PRICE);
+        prices.addAll(generateDummyData(COUNT, Timestamp.valueOf(start.minusDays(2)), SYMBOLS[1], PRICE));
+        prices.addAll(generateDummyData(COUNT, Timestamp.valueOf(start), SYMBOLS[2], PRICE));
+        cryptoPriceStore.reload(prices);
+        ReflectionTestUtils.setField(cryptoRecsService, "disabledSymbols", List.of(SYMBOLS[2]));
+
+        List<CryptoPriceCandles> result = cryptoRecsService.getCandles(Optional.empty(), CandleInterval.DAY, start,
+                start.plusHours(1));
+
+        assertEquals(List.of(SYMBOLS[0]), result.stream().map(CryptoPriceCandles::getSymbol).toList());
+        assertTrue(cryptoRecsService.getCandles(Optional.of("ZZZ"), CandleInterval.DAY, start, start).isEmpty());
+        assertTrue(cryptoRecsService.getCandles(Optional.of(SYMBOLS[2]), CandleInterval.DAY, start, start).isEmpty());
+    }
+
+    @Test
+    void testDayCandlesFromDailyRollupsWhenStoreNotLoaded() {
+        LocalDate from = NOW.minusDays(1);
+        CryptoPriceDailyRollup first = dailyRollup(SYMBOLS[1], PRICE / 2, PRICE * 2, from);
+        first.setOpenPrice(PRICE);
+        first.setClosePrice(PRICE * 2);
+        first.setPriceCount(COUNT);
+        when(dailyRollupRepository.findBetween(anyCollection(), eq(from), eq(NOW))).thenReturn(List.of(
+                first, dailyRollup(SYMBOLS[0], PRICE, PRICE, from), dailyRollup(SYMBOLS[1], PRICE, PRICE, NOW)));
+
+        List<CryptoPriceCandles> result = cryptoRecsService.getCandles(Optional.empty(), CandleInterval.DAY,
+                from.atStartOfDay(), NOW.atStartOfDay());
+
+        assertEquals(List.of(SYMBOLS[0], SYMBOLS[1]), result.stream().map(CryptoPriceCandles::getSymbol).toList());
+        assertEquals(List.of(new CryptoPriceCandles.Candle(from.atStartOfDay(), PRICE, PRICE * 2, PRICE / 2, PRICE * 2,
+                        COUNT), new CryptoPriceCandles.Candle(NOW.atStartOfDay(), null, PRICE, PRICE, null, null)),
+                result.get(1).getCandles());
+    }
+
+    @Test
+    void testHourCandlesUnavailableWhenStoreNotLoaded() {
+        LocalDateTime start = NOW.atStartOfDay();
+
+        assertThrows(StoreNotLoadedException.class, () -> cryptoRecsService.getCandles(Optional.empty(),
+                CandleInterval.HOUR, start, start.plusHours(1)));
+    }
+
+    @Test
+    void testRollingNormalizedOfSymbol() {
+        LocalDateTime start = NOW.atStartOfDay();
+        cryptoPriceStore.reload(generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(start), SYMBOLS[0], PRICE));
+
+        List<CryptoPriceRollingNormalized> result = cryptoRecsService.getRollingNormalized(SYMBOLS[0],
+                Duration.ofMillis(2), start.plusNanos(COUNT * 1_000_000L), start.plusHours(1));
+
+        assertEquals(2, result.size());
+        assertEquals(CryptoRecsService.normalize(PRICE / 2, PRICE), result.get(0).getNormalized());
+        assertEquals(CryptoRecsService.normalize(PRICE / 2, PRICE * 2), result.get(1).getNormalized());
+    }
+
+    @Test
+    void testRollingNormalizedOfDisabledSymbolIsEmpty() {
+        LocalDateTime start = NOW.atStartOfDay();
+        cryptoPriceStore.reload(generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(start), SYMBOLS[0], PRICE));
+        ReflectionTestUtils.setField(cryptoRecsService, "disabledSymbols", List.of(SYMBOLS[0]));
+
+        assertTrue(cryptoRecsService.getRollingNormalized(SYMBOLS[0], Duration.ofMillis(2), start, start.plusHours(1))
+                .isEmpty());
+    }
+
+    @Test
+    void testRollingNormalizedUnavailableWhenStoreNotLoaded() {
+        LocalDateTime start = NOW.atStartOfDay();
+
+        assertThrows(StoreNotLoadedException.class, () -> cryptoRecsService.getHighestRollingNormalized(Duration.ofHours(1)));
+        assertThrows(StoreNotLoadedException.class, () -> cryptoRecsService.getRollingNormalized(SYMBOLS[0],
+                Duration.ofHours(1), start, start.plusHours(1)));
+    }
+
+    @Test
+    void testHighestRollingNormalizedOrderedFromHighest() {
+        cryptoPriceStore.reload(generateNormalizationData());
+
+        List<CryptoPriceRollingNormalized> result = cryptoRecsService.getHighestRollingNormalized(Duration.ofHours(1));
+
+        assertEquals(SYMBOLS.length, result.size());
+        assertEquals(SYMBOLS[1], result.get(0).getSymbol());
+        assertEquals(CryptoRecsService.normalize(PRICE / 2, PRICE * 2), result.get(0).getNormalized());
+    }
+
     @Test
     void testFindAllCryptos() {
         Timestamp now = Timestamp.valueOf(LocalDateTime.now());
         List<CryptoPrice> dummy = generateDummyData(COUNT, now, SYMBOLS[0], PRICE);
         dummy.addAll(generateDummyData(COUNT / 2, now, SYMBOLS[1], PRICE / 2));
 
-        when(cryptoPriceRepository.findAll(any(Specification.class)))
+        when(cryptoPriceRepository.findPrices(anyCollection()))
                 .thenReturn(dummy);
 
         List<CryptoPrice> results = cryptoRecsService.findAll();
@@ -143,7 +283,7 @@ class CryptoRecsServiceTest {
     void testFindBySymbol() {
         Timestamp now = Timestamp.valueOf(LocalDateTime.now());
         List<CryptoPrice> dummy = generateDummyData(COUNT, now, SYMBOLS[0], PRICE);
-        when(cryptoPriceRepository.findAll(any(Specification.class)))
+        when(cryptoPriceRepository.findPricesBySymbol(anyCollection(), eq(SYMBOLS[0])))
                 .thenReturn(dummy);
 
         List<CryptoPrice> results = cryptoRecsService.findBySymbol(SYMBOLS[0]);
@@ -154,18 +294,7 @@ class CryptoRecsServiceTest {
 
     @Test
     void testGetAllNormalizedAscOrder() {
-        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-        when(cryptoPriceRepository.findGroupBySymbolWithNativeQuery()).thenReturn(Arrays.stream(SYMBOLS).toList());
-
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceAsc(anyString()))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE / 2)));
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceDesc(anyString()))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE)));
-
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceAsc(eq(SYMBOLS[1])))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE / 2)));
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceDesc(eq(SYMBOLS[1])))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE * 2)));
+        cryptoPriceStore.reload(generateNormalizationData());
 
         List<CryptoPriceComputed> results = cryptoRecsService.getAllNormalized(Sort.Direction.ASC);
 
@@ -177,38 +306,240 @@ class CryptoRecsServiceTest {
 
     @Test
     void testGetAllNormalizedDescOrder() {
-        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-        when(cryptoPriceRepository.findGroupBySymbolWithNativeQuery()).thenReturn(Arrays.stream(SYMBOLS).toList());
-
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceAsc(anyString()))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE / 2)));
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceDesc(anyString()))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE)));
-
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceAsc(eq(SYMBOLS[1])))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE / 2)));
-        when(cryptoPriceRepository.findFirstBySymbolOrderByPriceDesc(eq(SYMBOLS[1])))
-                .thenReturn(Optional.of(new CryptoPrice(now, SYMBOLS[0], PRICE * 2)));
+        cryptoPriceStore.reload(generateNormalizationData());
 
         List<CryptoPriceComputed> results = cryptoRecsService.getAllNormalized(Sort.Direction.DESC);
 
         assertFalse(results.isEmpty());
         assertEquals(SYMBOLS.length, results.size());
         assertTrue(results.get(0).getNormalized() > results.get(results.size() - 1).getNormalized());
+        assertEquals(SYMBOLS[1], results.get(0).getSymbol());
+    }
+
+    @Test
+    void testGetAllNormalizedFromAggregatesWhenStoreNotLoaded() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        when(cryptoPriceRepository.findAggregatesGroupBySymbol(anyCollection())).thenReturn(List.of(
+                aggregate(SYMBOLS[0], PRICE / 2, PRICE, now),
+                aggregate(SYMBOLS[1], PRICE / 2, PRICE * 2, now)));
+
+        List<CryptoPriceComputed> results = cryptoRecsService.getAllNormalized(Sort.Direction.DESC);
+
+        assertEquals(2, results.size());
+        assertEquals(SYMBOLS[1], results.get(0).getSymbol());
+    }
+
+    @Test
+    void testNormalizedPageSkipsDisabledSymbols() {
+        ReflectionTestUtils.setField(cryptoRecsService, "disabledSymbols", List.of(SYMBOLS[2]));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CryptoPrice> prices = new ArrayList<>();
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            prices.add(new CryptoPrice(now, SYMBOLS[i], PRICE));
+            prices.add(new CryptoPrice(new Timestamp(now.getTime() + 1), SYMBOLS[i], PRICE * (i + 2)));
+        }
+        cryptoPriceStore.reload(prices);
+
+        List<CryptoPriceComputed> results = cryptoRecsService.getNormalizedPage(Sort.Direction.DESC, 1, 1);
+
+        assertEquals(1, results.size());
+        assertEquals(SYMBOLS[0], results.get(0).getSymbol());
+        assertTrue(cryptoRecsService.getNormalizedPage(Sort.Direction.DESC, 2, 1).isEmpty());
+    }
+
+    @Test
+    void testNormalizedPageFromAggregatesWhenStoreNotLoaded() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        when(cryptoPriceRepository.findAggregatesGroupBySymbol(anyCollection())).thenReturn(List.of(
+                aggregate(SYMBOLS[0], PRICE / 2, PRICE, now),
+                aggregate(SYMBOLS[1], PRICE / 2, PRICE * 4, now),
+                aggregate(SYMBOLS[2], PRICE / 2, PRICE * 2, now)));
+
+        List<CryptoPriceComputed> results = cryptoRecsService.getNormalizedPage(Sort.Direction.ASC, 1, 1);
+
+        assertEquals(1, results.size());
+        assertEquals(SYMBOLS[2], results.get(0).getSymbol());
+    }
+
+    @Test
+    void testHighestNormalizedFromDailyRollupsWhenStoreNotLoaded() {
+        Timestamp now = Timestamp.valueOf(NOW.atStartOfDay());
+        when(dailyRollupRepository.findBetween(anyCollection(), eq(NOW), eq(NOW))).thenReturn(List.of(
+                rollup(new CryptoPriceDailyRollup(), SYMBOLS[0], PRICE / 2, PRICE * 2, now),
+                rollup(new CryptoPriceDailyRollup(), SYMBOLS[1], PRICE / 2, PRICE, now)));
+
+        Optional<CryptoPriceComputed> result = cryptoRecsService.getHighestNormalize(NOW);
+
+        assertTrue(result.isPresent());
+        assertEquals(SYMBOLS[0], result.get().getSymbol());
+    }
+
+    @Test
+    void testMonthStatisticsFromMonthlyRollupsWhenStoreNotLoaded() {
+        Timestamp now = Timestamp.valueOf(NOW.atStartOfDay());
+        when(monthlyRollupRepository.findByPeriods(anyCollection(), eq(List.of(NOW.withDayOfMonth(1))))).thenReturn(List.of(
+                rollup(new CryptoPriceMonthlyRollup(), SYMBOLS[0], PRICE / 2, PRICE * 2, now)));
 
+        List<CryptoPriceStatistics> results = cryptoRecsService.getStatistics(Optional.empty(), Optional.of(NOW));
+
+        assertEquals(List.of(new CryptoPriceStatistics(SYMBOLS[0], NOW.atStartOfDay(), NOW.atStartOfDay(), PRICE * 2,
+                PRICE / 2)), results);
+    }
+
+    @Test
+    void testSymbolStatisticsFromDatasourceWhenStoreNotLoaded() {
+        Timestamp now = Timestamp.valueOf(NOW.atStartOfDay());
+        when(cryptoPriceRepository.findAggregatesOfSymbol(anyCollection(), eq(SYMBOLS[0]))).thenReturn(List.of(
+                aggregate(SYMBOLS[0], PRICE / 2, PRICE * 2, now)));
+        when(monthlyRollupRepository.findByPeriods(anyCollection(), eq(SYMBOLS[1]), eq(List.of(NOW.withDayOfMonth(1)))))
+                .thenReturn(List.of());
+        when(cryptoPriceRepository.findAggregatesOfSymbol(anyCollection(), eq(SYMBOLS[2]), anyLong(), anyLong()))
+                .thenReturn(List.of(aggregate(SYMBOLS[2], PRICE, PRICE, now)));
+
+        assertEquals(PRICE * 2, cryptoRecsService.getStatistics(Optional.of(SYMBOLS[0]), Optional.empty()).get(0).getMaxPrice());
+        assertEquals(new CryptoPriceStatistics(SYMBOLS[1], null, null, null, null),
+                cryptoRecsService.getStatistics(Optional.of(SYMBOLS[1]), Optional.of(NOW)).get(0));
+        assertEquals(PRICE, cryptoRecsService.getStatisticsForTimeRange(Optional.of(SYMBOLS[2]), NOW.atStartOfDay(),
+                NOW.atStartOfDay().plusHours(1)).get(0).getMinPrice());
+    }
+
+    @Test
+    void testHighestNormalizedOfDaysFromStore() {
+        LocalDate from = NOW.minusDays(2);
+        List<CryptoPrice> prices = generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(from.atStartOfDay()), SYMBOLS[0], PRICE);
+        prices.addAll(generateDummyData(COUNT, Timestamp.valueOf(from.atStartOfDay()), SYMBOLS[1], PRICE));
+        prices.addAll(generateDummyData(COUNT, Timestamp.valueOf(NOW.atStartOfDay()), SYMBOLS[0], PRICE));
+        prices.addAll(generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(NOW.atStartOfDay()), SYMBOLS[1], PRICE));
+        cryptoPriceStore.reload(prices);
+
+        List<CryptoPriceDailyHighest> results = cryptoRecsService.getHighestNormalizeOfDays(from, NOW);
+
+        assertEquals(List.of(new CryptoPriceDailyHighest(from, SYMBOLS[0], 3.0),
+                new CryptoPriceDailyHighest(NOW, SYMBOLS[1], 3.0)), results);
+    }
+
+    @Test
+    void testHighestNormalizedOfDaysFromDailyRollupsWhenStoreNotLoaded() {
+        LocalDate from = NOW.minusDays(2);
+        when(dailyRollupRepository.findBetween(anyCollection(), eq(from), eq(NOW))).thenReturn(List.of(
+                dailyRollup(SYMBOLS[0], PRICE / 2, PRICE * 2, from),
+                dailyRollup(SYMBOLS[1], PRICE, PRICE, from),
+                dailyRollup(SYMBOLS[0], PRICE, PRICE, NOW),
+                dailyRollup(SYMBOLS[1], PRICE / 2, PRICE * 2, NOW)));
+
+        List<CryptoPriceDailyHighest> results = cryptoRecsService.getHighestNormalizeOfDays(from, NOW);
+
+        assertEquals(List.of(new CryptoPriceDailyHighest(from, SYMBOLS[0], 3.0),
+                new CryptoPriceDailyHighest(NOW, SYMBOLS[1], 3.0)), results);
+    }
+
+    @Test
+    void testStatisticsMatrixFromStore() {
+        YearMonth month = YearMonth.from(NOW);
+        List<CryptoPrice> prices = generateDummyDataWithMinMax(COUNT, Timestamp.valueOf(NOW.atStartOfDay()), SYMBOLS[0], PRICE);
+        prices.addAll(generateDummyData(COUNT, Timestamp.valueOf(NOW.atStartOfDay()), SYMBOLS[1], PRICE));
+        cryptoPriceStore.reload(prices);
+
+        CryptoPriceStatisticsMatrix matrix = cryptoRecsService.getStatisticsMatrix(
+                Optional.of(List.of(SYMBOLS[1], SYMBOLS[0], SYMBOLS[2])), List.of(month.minusMonths(1), month));
+
+        assertEquals(List.of(SYMBOLS[1], SYMBOLS[0], SYMBOLS[2]), matrix.getSymbols());
+        assertArrayEquals(new Double[][]{{null, PRICE}, {null, PRICE * 2}, {null, null}}, matrix.getMaxPrices());
+        assertArrayEquals(new Double[][]{{null, PRICE}, {null, PRICE / 2}, {null, null}}, matrix.getMinPrices());
+        assertEquals(NOW.atStartOfDay(), matrix.getOldest()[1][1]);
+    }
+
+    @Test
+    void testStatisticsMatrixFromAggregatesWhenStoreNotLoaded() {
+        YearMonth month = YearMonth.from(NOW);
+        Timestamp now = Timestamp.valueOf(NOW.atStartOfDay());
+        when(cryptoPriceRepository.findAggregatesGroupBySymbol(anyCollection(), anyLong(), anyLong())).thenReturn(List.of(
+                aggregate(SYMBOLS[0], PRICE / 2, PRICE * 2, now),
+                aggregate(SYMBOLS[1], PRICE / 2, PRICE, now)));
+        ReflectionTestUtils.setField(cryptoRecsService, "disabledSymbols", List.of(SYMBOLS[1]));
+
+        CryptoPriceStatisticsMatrix matrix = cryptoRecsService.getStatisticsMatrix(
+                Optional.of(List.of(SYMBOLS[0], SYMBOLS[1])), List.of(month, month.minusMonths(1)));
+
+        assertEquals(List.of(SYMBOLS[0]), matrix.getSymbols());
+        assertArrayEquals(new Double[][]{{PRICE * 2, PRICE * 2}}, matrix.getMaxPrices());
+        assertArrayEquals(new LocalDateTime[][]{{NOW.atStartOfDay(), NOW.atStartOfDay()}}, matrix.getNewest());
+    }
+
+    private static <T extends CryptoPriceRollup> T rollup(T rollup, String symbol, Double min, Double max,
+                                                           Timestamp timestamp) {
+        rollup.setSymbol(symbol);
+        rollup.setMinPrice(min);
+        rollup.setMaxPrice(max);
+        rollup.setOldest(timestamp);
+        rollup.setNewest(timestamp);
+        return rollup;
+    }
+
+    private static CryptoPriceDailyRollup dailyRollup(String symbol, Double min, Double max, LocalDate day) {
+        CryptoPriceDailyRollup rollup = rollup(new CryptoPriceDailyRollup(), symbol, min, max,
+                Timestamp.valueOf(day.atStartOfDay()));
+        rollup.setPeriod(day);
+        return rollup;
+    }
+
+    private static CryptoPriceAggregate aggregate(String symbol, Double min, Double max, Timestamp timestamp) {
+        return new CryptoPriceAggregate() {
+            @Override
+            public String getSymbol() {
+                return symbol;
+            }
+
+            @Override
+            public Double getMinPrice() {
+                return min;
+            }
+
+            @Override
+            public Double getMaxPrice() {
+                return max;
+            }
+
+            @Override
+            public Long getOldest() {
+                return timestamp.getTime();
+            }
+
+            @Override
+            public Long getNewest() {
+                return timestamp.getTime();
+            }
+
+            @Override
+            public Long getPriceCount() {
+                return 2L;
+            }
+        };
+    }
+
+    private static List<CryptoPrice> generateNormalizationData() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CryptoPrice> cryptoPrices = new ArrayList<>();
+        for (String symbol : SYMBOLS) {
+            cryptoPrices.add(new CryptoPrice(now, symbol, PRICE / 2));
+            cryptoPrices.add(new CryptoPrice(new Timestamp(now.getTime() + 1), symbol,
+                    SYMBOLS[1].equals(symbol) ? PRICE * 2 : PRICE));
+        }
+        return cryptoPrices;
     }
 
     private static List<CryptoPrice> generateDummyData(Integer count, Timestamp tp, String symbol, Double price) {
         List<CryptoPrice> cryptoPrices = new ArrayList<>(count);
-        IntStream.range(0, count).forEach(i -> cryptoPrices.add(new CryptoPrice(tp, symbol, price)));
+        IntStream.range(0, count).forEach(i -> cryptoPrices.add(
+                new CryptoPrice(new Timestamp(tp.getTime() + i), symbol, price)));
         return cryptoPrices;
     }
 
     private static List<CryptoPrice> generateDummyDataWithMinMax(
             Integer count, Timestamp tp, String symbol, Double price) {
         List<CryptoPrice> prices = generateDummyData(count, tp, symbol, price);
-        prices.addAll(generateDummyData(1, tp, symbol, price / 2));
-        prices.addAll(generateDummyData(1, tp, symbol, price * 2));
+        prices.addAll(generateDummyData(1, new Timestamp(tp.getTime() + count), symbol, price / 2));
+        prices.addAll(generateDummyData(1, new Timestamp(tp.getTime() + count + 1), symbol, price * 2));
         return prices;
     }
 }
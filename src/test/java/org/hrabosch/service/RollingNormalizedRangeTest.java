@@ -0,0 +1,65 @@
+package org.hrabosch.service;
+
+import org.hrabosch.model.CryptoPrice;
+import org.hrabosch.model.CryptoPriceRollingNormalized;
+import org.hrabosch.store.CryptoPriceStore;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RollingNormalizedRangeTest {
+
+    private static final String SYMBOL = "AAA";
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+    private static final long WINDOW = Duration.ofHours(2).toMillis();
+
+    private final CryptoPriceStore cryptoPriceStore = new CryptoPriceStore();
+    private final RollingNormalizedRange range = new RollingNormalizedRange(WINDOW);
+
+    @Test
+    void highestRangeIsUpdatedByAppendedPrices() {
+        cryptoPriceStore.reload(List.of(price(0, 10.0), price(1, 12.0), price(2, 11.0), price(3, 20.0)));
+
+        CryptoPriceRollingNormalized highest = update();
+        assertEquals(START.plusHours(3), highest.getTimestamp());
+        assertEquals(11.0, highest.getMinPrice());
+        assertEquals(20.0, highest.getMaxPrice());
+
+        commit(price(4, 5.0));
+
+        highest = update();
+        assertEquals(START.plusHours(4), highest.getTimestamp());
+        assertEquals(CryptoRecsService.normalize(5.0, 20.0), highest.getNormalized());
+    }
+
+    @Test
+    void rangeIsReevaluatedWhenEarlierPriceChanges() {
+        cryptoPriceStore.reload(List.of(price(0, 10.0), price(1, 12.0), price(2, 11.0)));
+        update();
+
+        commit(price(1, 100.0));
+
+        CryptoPriceRollingNormalized highest = update();
+        assertEquals(START.plusHours(1), highest.getTimestamp());
+        assertEquals(100.0, highest.getMaxPrice());
+        assertEquals(highest, update());
+    }
+
+    private CryptoPriceRollingNormalized update() {
+        return range.update(cryptoPriceStore.getSeries(SYMBOL).orElseThrow()).orElseThrow();
+    }
+
+    private void commit(CryptoPrice price) {
+        cryptoPriceStore.stage(List.of(price));
+        cryptoPriceStore.commit();
+    }
+
+    private static CryptoPrice price(int hour, double price) {
+        return new CryptoPrice(Timestamp.valueOf(START.plusHours(hour)), SYMBOL, price);
+    }
+}
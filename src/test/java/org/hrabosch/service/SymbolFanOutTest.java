@@ -0,0 +1,79 @@
+package org.hrabosch.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymbolFanOutTest {
+
+    private static final List<String> SYMBOLS = List.of("AAA", "BBB", "CCC", "DDD", "EEE");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(2);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resultsFollowOrderOfSymbols() {
+        SymbolFanOut symbolFanOut = new SymbolFanOut(executor, 2, Duration.ofSeconds(5));
+
+        assertEquals(List.of("aaa", "bbb", "ccc", "ddd", "eee"), symbolFanOut.map(SYMBOLS, String::toLowerCase));
+    }
+
+    @Test
+    void failureOfSymbolIsRethrown() {
+        SymbolFanOut symbolFanOut = new SymbolFanOut(executor, 2, Duration.ofSeconds(5));
+
+        assertThrows(ArithmeticException.class, () -> symbolFanOut.map(SYMBOLS, symbol -> {
+            if (symbol.equals("DDD")) {
+                throw new ArithmeticException();
+            }
+            return symbol;
+        }));
+    }
+
+    @Test
+    void slowComputationTimesOut() {
+        SymbolFanOut symbolFanOut = new SymbolFanOut(executor, 2, Duration.ofMillis(50));
+
+        assertThrows(AnalyticsTimeoutException.class, () -> symbolFanOut.map(SYMBOLS, symbol -> {
+            awaitRelease();
+            return symbol;
+        }));
+    }
+
+    @Test
+    void timedOutComputationIsInterrupted() throws InterruptedException {
+        SymbolFanOut symbolFanOut = new SymbolFanOut(executor, 2, Duration.ofMillis(50));
+
+        assertThrows(AnalyticsTimeoutException.class, () -> symbolFanOut.map(SYMBOLS, symbol -> {
+            awaitRelease();
+            return symbol;
+        }));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
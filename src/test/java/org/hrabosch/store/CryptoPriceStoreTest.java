@@ -0,0 +1,114 @@
+package org.hrabosch.store;
+
+import org.hrabosch.model.CryptoPrice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CryptoPriceStoreTest {
+
+    private static final String SYMBOL = "AAA";
+
+    private CryptoPriceStore cryptoPriceStore;
+
+    @BeforeEach
+    void setUp() {
+        cryptoPriceStore = new CryptoPriceStore();
+    }
+
+    @Test
+    void stagedPricesAreNotVisibleBeforeCommit() {
+        cryptoPriceStore.stage(List.of(price(1L, 1.0)));
+
+        assertTrue(cryptoPriceStore.isEmpty());
+
+        cryptoPriceStore.commit();
+
+        assertEquals(1, cryptoPriceStore.getSeries(SYMBOL).get().size());
+    }
+
+    @Test
+    void commitSortsAndReplacesDuplicateTimestamps() {
+        cryptoPriceStore.reload(List.of(price(3L, 3.0), price(1L, 1.0), price(2L, 2.0)));
+        cryptoPriceStore.stage(List.of(price(2L, 5.0), price(4L, 4.0)));
+        cryptoPriceStore.commit();
+
+        SymbolPriceSeries series = cryptoPriceStore.getSeries(SYMBOL).get();
+
+        assertEquals(4, series.size());
+        assertEquals(1L, series.getTimestamp(0));
+        assertEquals(5.0, series.getPrice(1));
+        assertEquals(4L, series.getTimestamp(3));
+    }
+
+    @Test
+    void summarizeRangeIsInclusive() {
+        cryptoPriceStore.reload(List.of(price(1L, 4.0), price(2L, 1.0), price(3L, 3.0), price(4L, 8.0)));
+
+        PriceSummary summary = cryptoPriceStore.getSeries(SYMBOL).get().summarize(2L, 3L).get();
+
+        assertEquals(2, summary.getCount());
+        assertEquals(1.0, summary.getMinPrice());
+        assertEquals(3.0, summary.getMaxPrice());
+        assertEquals(2L, summary.getOldest());
+        assertEquals(3L, summary.getNewest());
+    }
+
+    @Test
+    void summarizeEmptyRange() {
+        cryptoPriceStore.reload(List.of(price(1L, 4.0), price(5L, 1.0)));
+
+        Optional<PriceSummary> summary = cryptoPriceStore.getSeries(SYMBOL).get().summarize(2L, 4L);
+
+        assertFalse(summary.isPresent());
+    }
+
+    @Test
+    void rankingIsUpdatedByChangedSymbolsOnly() {
+        cryptoPriceStore.reload(List.of(price(1L, 1.0), price(2L, 2.0),
+                new CryptoPrice(new Timestamp(1L), "BBB", 1.0), new CryptoPrice(new Timestamp(1L), "CCC", 1.0)));
+        NormalizedRanking ranking = cryptoPriceStore.getRanking();
+
+        assertEquals(List.of("BBB", "CCC", SYMBOL), symbols(ranking));
+        assertEquals(1.0, ranking.getNormalized(2));
+
+        cryptoPriceStore.stage(List.of(new CryptoPrice(new Timestamp(2L), "BBB", 4.0)));
+        cryptoPriceStore.commit();
+        ranking = cryptoPriceStore.getRanking();
+
+        assertEquals(List.of("CCC", SYMBOL, "BBB"), symbols(ranking));
+        assertEquals(3.0, ranking.getNormalized(2));
+    }
+
+    @Test
+    void replaceRebuildsSeriesOfGivenSymbolsOnly() {
+        cryptoPriceStore.reload(List.of(price(1L, 1.0), price(2L, 2.0),
+                new CryptoPrice(new Timestamp(1L), "BBB", 1.0), new CryptoPrice(new Timestamp(1L), "CCC", 1.0)));
+        cryptoPriceStore.drainChanges();
+
+        cryptoPriceStore.replace(List.of(SYMBOL, "BBB"), List.of(price(3L, 3.0)));
+
+        assertEquals(List.of(SYMBOL, "CCC"), List.copyOf(cryptoPriceStore.getSymbols()));
+        assertEquals(1, cryptoPriceStore.getSeries(SYMBOL).orElseThrow().size());
+        assertEquals(3L, cryptoPriceStore.getSeries(SYMBOL).orElseThrow().getTimestamp(0));
+        assertEquals(List.of(SYMBOL, "CCC"), symbols(cryptoPriceStore.getRanking()));
+        assertEquals(Map.of(SYMBOL, 1L, "BBB", 1L), cryptoPriceStore.drainChanges());
+    }
+
+    private static List<String> symbols(NormalizedRanking ranking) {
+        return IntStream.range(0, ranking.size()).mapToObj(ranking::getSymbol).toList();
+    }
+
+    private static CryptoPrice price(long timestamp, double price) {
+        return new CryptoPrice(new Timestamp(timestamp), SYMBOL, price);
+    }
+}
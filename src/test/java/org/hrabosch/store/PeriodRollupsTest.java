@@ -0,0 +1,75 @@
+package org.hrabosch.store;
+
+import org.hrabosch.model.CryptoPrice;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PeriodRollupsTest {
+
+    private static final String SYMBOL = "AAA";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 30);
+    private static final int HOURS = 24;
+
+    @Test
+    void rollupsAreComputedPerDayAndMonth() {
+        CryptoPriceStore cryptoPriceStore = new CryptoPriceStore();
+        cryptoPriceStore.reload(generateDays(FIRST_DAY, 3));
+
+        SymbolPriceSeries series = cryptoPriceStore.getSeries(SYMBOL).get();
+        PeriodRollups daily = series.getRollups(RollupPeriod.DAY);
+        PeriodRollups monthly = series.getRollups(RollupPeriod.MONTH);
+
+        assertEquals(3, daily.size());
+        assertEquals(2, monthly.size());
+        PriceSummary january = monthly.find(FIRST_DAY).get();
+        assertEquals(2 * HOURS, january.getCount());
+        assertEquals(1.0, january.getMinPrice());
+        assertEquals(2 * HOURS, january.getMaxPrice());
+        assertEquals(HOURS, daily.find(FIRST_DAY.plusDays(2)).get().getCount());
+        PriceCandle januaryCandle = monthly.getCandle(monthly.indexOf(FIRST_DAY));
+        assertEquals(1.0, januaryCandle.getOpen());
+        assertEquals(2 * HOURS, januaryCandle.getClose());
+        assertEquals(Timestamp.valueOf(FIRST_DAY.withDayOfMonth(1).atStartOfDay()).getTime(), januaryCandle.getStart());
+        assertFalse(daily.find(FIRST_DAY.plusDays(3)).isPresent());
+    }
+
+    @Test
+    void appendedPricesRecomputeOnlyChangedPeriods() {
+        CryptoPriceStore cryptoPriceStore = new CryptoPriceStore();
+        cryptoPriceStore.reload(generateDays(FIRST_DAY, 2));
+        cryptoPriceStore.stage(List.of(
+                new CryptoPrice(Timestamp.valueOf(FIRST_DAY.plusDays(1).atTime(23, 30)), SYMBOL, 0.5),
+                new CryptoPrice(Timestamp.valueOf(FIRST_DAY.plusDays(2).atStartOfDay()), SYMBOL, 100.0)));
+        cryptoPriceStore.commit();
+
+        PeriodRollups daily = cryptoPriceStore.getSeries(SYMBOL).get().getRollups(RollupPeriod.DAY);
+
+        assertEquals(3, daily.size());
+        assertEquals(HOURS, daily.get(0).getCount());
+        assertEquals(HOURS + 1, daily.get(1).getCount());
+        assertEquals(0.5, daily.get(1).getMinPrice());
+        assertEquals(100.0, daily.get(2).getMaxPrice());
+        assertEquals(0.5, daily.getCandle(1).getClose());
+        assertEquals(2 * HOURS, daily.getCandle(1).getHigh());
+        assertEquals(FIRST_DAY.plusDays(2), daily.getPeriod(2));
+    }
+
+    private static List<CryptoPrice> generateDays(LocalDate from, int days) {
+        List<CryptoPrice> prices = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                LocalDateTime time = from.plusDays(day).atTime(hour, 0);
+                prices.add(new CryptoPrice(Timestamp.valueOf(time), SYMBOL, (double) day * HOURS + hour + 1));
+            }
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,61 @@
+package org.hrabosch.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PriceKernelTest {
+
+    private static final int SIZE = 300;
+    private static final int BLOCK_SHIFT = 4;
+    private static final int BLOCKS = (SIZE + (1 << BLOCK_SHIFT) - 1) >> BLOCK_SHIFT;
+
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        assumeTrue(PriceKernels.isVectorAvailable(), "jdk.incubator.vector module is not resolved");
+        PriceKernel scalar = PriceKernels.scalar();
+        PriceKernel vector = PriceKernels.of(PriceKernels.VECTOR);
+        double[] prices = RangeMinMaxIndexTest.randomPrices(SIZE);
+
+        for (int from = 0; from < SIZE; from += 3) {
+            for (int to = from + 1; to <= SIZE; to++) {
+                assertEquals(scalar.min(prices, from, to), vector.min(prices, from, to));
+                assertEquals(scalar.max(prices, from, to), vector.max(prices, from, to));
+            }
+        }
+        for (int size = 1; size <= SIZE; size += 5) {
+            double[] scalarMins = new double[BLOCKS];
+            double[] scalarMaxs = new double[BLOCKS];
+            double[] vectorMins = new double[BLOCKS];
+            double[] vectorMaxs = new double[BLOCKS];
+            scalar.blockMinMax(prices, size, BLOCK_SHIFT, 1, scalarMins, scalarMaxs);
+            vector.blockMinMax(prices, size, BLOCK_SHIFT, 1, vectorMins, vectorMaxs);
+            assertArrayEquals(scalarMins, vectorMins);
+            assertArrayEquals(scalarMaxs, vectorMaxs);
+        }
+    }
+
+    @Test
+    void indexOverVectorKernelMatchesLinearScan() {
+        assumeTrue(PriceKernels.isVectorAvailable(), "jdk.incubator.vector module is not resolved");
+        PriceKernel vector = PriceKernels.of(PriceKernels.VECTOR);
+        double[] prices = RangeMinMaxIndexTest.randomPrices(SIZE);
+
+        RangeMinMaxIndex index = RangeMinMaxIndex.build(vector, Arrays.copyOf(prices, 37));
+        index = RangeMinMaxIndex.extend(vector, index, prices);
+
+        RangeMinMaxIndexTest.assertMatchesLinearScan(prices, index);
+    }
+
+    @Test
+    void selectsKernelByName() {
+        assertSame(PriceKernels.scalar(), PriceKernels.of("SCALAR"));
+        assertThrows(IllegalArgumentException.class, () -> PriceKernels.of("gpu"));
+    }
+}
@@ -0,0 +1,53 @@
+package org.hrabosch.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RangeMinMaxIndexTest {
+
+    private static final int SIZE = 300;
+    private static final long SEED = 42L;
+
+    @Test
+    void queriesMatchLinearScan() {
+        double[] prices = randomPrices(SIZE);
+        RangeMinMaxIndex index = RangeMinMaxIndex.build(PriceKernels.scalar(), prices);
+
+        assertMatchesLinearScan(prices, index);
+    }
+
+    @Test
+    void extendedIndexMatchesLinearScan() {
+        double[] prices = randomPrices(SIZE);
+        RangeMinMaxIndex index = RangeMinMaxIndex.build(PriceKernels.scalar(), Arrays.copyOf(prices, 37));
+        index = RangeMinMaxIndex.extend(PriceKernels.scalar(), index, Arrays.copyOf(prices, 38));
+        index = RangeMinMaxIndex.extend(PriceKernels.scalar(), index, Arrays.copyOf(prices, 160));
+        index = RangeMinMaxIndex.extend(PriceKernels.scalar(), index, prices);
+
+        assertMatchesLinearScan(prices, index);
+    }
+
+    static void assertMatchesLinearScan(double[] prices, RangeMinMaxIndex index) {
+        for (int from = 0; from < prices.length; from += 7) {
+            for (int to = from; to < prices.length; to++) {
+                double min = prices[from];
+                double max = prices[from];
+                for (int i = from; i <= to; i++) {
+                    min = Math.min(min, prices[i]);
+                    max = Math.max(max, prices[i]);
+                }
+                assertEquals(min, index.minimum(from, to));
+                assertEquals(max, index.maximum(from, to));
+            }
+        }
+    }
+
+    static double[] randomPrices(int size) {
+        Random random = new Random(SEED);
+        return random.doubles(size, 1, 100).toArray();
+    }
+}
@@ -0,0 +1,39 @@
+package org.hrabosch.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RollingMinMaxTest {
+
+    private static final int SIZE = 2000;
+    private static final long WINDOW = 100;
+    private static final long SEED = 42L;
+
+    @Test
+    void windowMatchesLinearScan() {
+        Random random = new Random(SEED);
+        long[] timestamps = new long[SIZE];
+        double[] prices = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            timestamps[i] = (i == 0 ? 0 : timestamps[i - 1]) + 1 + random.nextInt(10);
+            // trend makes deque of one side grow over many prices
+            prices[i] = i + random.nextDouble(0, 20);
+        }
+        RollingMinMax rollingMinMax = new RollingMinMax(WINDOW);
+
+        for (int i = 0; i < SIZE; i++) {
+            rollingMinMax.push(timestamps[i], prices[i]);
+            double min = prices[i];
+            double max = prices[i];
+            for (int j = i; j >= 0 && timestamps[j] > timestamps[i] - WINDOW; j--) {
+                min = Math.min(min, prices[j]);
+                max = Math.max(max, prices[j]);
+            }
+            assertEquals(min, rollingMinMax.getMin());
+            assertEquals(max, rollingMinMax.getMax());
+        }
+    }
+}
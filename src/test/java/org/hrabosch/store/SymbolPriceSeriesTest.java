@@ -0,0 +1,98 @@
+package org.hrabosch.store;
+
+import org.hrabosch.model.CryptoPrice;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymbolPriceSeriesTest {
+
+    private static final String SYMBOL = "AAA";
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 30, 22, 0);
+    private static final int PRICES = 2000;
+    private static final int STEP_SECONDS = 97;
+    private static final long SEED = 42L;
+
+    private final List<CryptoPrice> prices = generatePrices();
+    private final SymbolPriceSeries series = load(prices);
+
+    @Test
+    void candlesMatchBucketsOfPrices() {
+        long from = toMillis(START.plusMinutes(30));
+        long to = toMillis(START.plusDays(2));
+        for (CandleInterval interval : CandleInterval.values()) {
+            List<PriceCandle> expected = bucket(interval, from, to);
+
+            assertEquals(expected, series.candles(interval, from, to), interval.getCode());
+        }
+    }
+
+    @Test
+    void candlesStartWithinRange() {
+        List<PriceCandle> candles = series.candles(CandleInterval.HOUR, toMillis(START.plusMinutes(1)),
+                toMillis(START.plusHours(3)));
+
+        assertEquals(List.of(toMillis(START.plusHours(1)), toMillis(START.plusHours(2)), toMillis(START.plusHours(3))),
+                candles.stream().map(PriceCandle::getStart).toList());
+        assertTrue(series.candles(CandleInterval.MONTH, toMillis(START.plusHours(1)), toMillis(START.plusDays(1))).isEmpty());
+    }
+
+    @Test
+    void unknownIntervalIsRejected() {
+        assertEquals(CandleInterval.MONTH, CandleInterval.of("1M"));
+        assertThrows(IllegalArgumentException.class, () -> CandleInterval.of("1w"));
+    }
+
+    private List<PriceCandle> bucket(CandleInterval interval, long from, long to) {
+        List<PriceCandle> candles = new ArrayList<>();
+        PriceCandle current = null;
+        for (CryptoPrice price : prices) {
+            long start = interval.startOf(price.getTimestamp().getTime());
+            if (start < from || start > to) {
+                continue;
+            }
+            if (current == null || current.getStart() != start) {
+                if (current != null) {
+                    candles.add(current);
+                }
+                current = new PriceCandle(start, 1, price.getPrice(), price.getPrice(), price.getPrice(), price.getPrice());
+            } else {
+                current = new PriceCandle(start, current.getCount() + 1, current.getOpen(),
+                        Math.max(current.getHigh(), price.getPrice()), Math.min(current.getLow(), price.getPrice()),
+                        price.getPrice());
+            }
+        }
+        if (current != null) {
+            candles.add(current);
+        }
+        return candles;
+    }
+
+    private static List<CryptoPrice> generatePrices() {
+        Random random = new Random(SEED);
+        List<CryptoPrice> prices = new ArrayList<>();
+        for (int i = 0; i < PRICES; i++) {
+            prices.add(new CryptoPrice(Timestamp.valueOf(START.plusSeconds((long) i * STEP_SECONDS)), SYMBOL,
+                    random.nextDouble(1, 100)));
+        }
+        return prices;
+    }
+
+    private static SymbolPriceSeries load(List<CryptoPrice> prices) {
+        CryptoPriceStore cryptoPriceStore = new CryptoPriceStore();
+        cryptoPriceStore.reload(prices);
+        return cryptoPriceStore.getSeries(SYMBOL).orElseThrow();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime).getTime();
+    }
+}
@@ -0,0 +1,80 @@
+package org.hrabosch.store;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel reducing prices in lanes of preferred vector species of the platform, remainder shorter than one vector
+ * is reduced by scalar loop. Requires {@code jdk.incubator.vector} module, loaded by {@link PriceKernels}.
+ */
+final class VectorPriceKernel implements PriceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public double min(double[] prices, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        double result = prices[from];
+        int i = from;
+        if (bound > from) {
+            DoubleVector lanes = DoubleVector.fromArray(SPECIES, prices, from);
+            for (i = from + SPECIES.length(); i < bound; i += SPECIES.length()) {
+                lanes = lanes.min(DoubleVector.fromArray(SPECIES, prices, i));
+            }
+            result = lanes.reduceLanes(VectorOperators.MIN);
+        }
+        for (; i < to; i++) {
+            result = Math.min(result, prices[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public double max(double[] prices, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        double result = prices[from];
+        int i = from;
+        if (bound > from) {
+            DoubleVector lanes = DoubleVector.fromArray(SPECIES, prices, from);
+            for (i = from + SPECIES.length(); i < bound; i += SPECIES.length()) {
+                lanes = lanes.max(DoubleVector.fromArray(SPECIES, prices, i));
+            }
+            result = lanes.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            result = Math.max(result, prices[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void blockMinMax(double[] prices, int size, int blockShift, int fromBlock, double[] mins, double[] maxs) {
+        int blocks = (size + (1 << blockShift) - 1) >> blockShift;
+        for (int block = fromBlock; block < blocks; block++) {
+            int start = block << blockShift;
+            int end = Math.min(start + (1 << blockShift), size);
+            int bound = start + SPECIES.loopBound(end - start);
+            double blockMin = prices[start];
+            double blockMax = prices[start];
+            int i = start;
+            if (bound > start) {
+                DoubleVector lower = DoubleVector.fromArray(SPECIES, prices, start);
+                DoubleVector upper = lower;
+                for (i = start + SPECIES.length(); i < bound; i += SPECIES.length()) {
+                    DoubleVector lanes = DoubleVector.fromArray(SPECIES, prices, i);
+                    lower = lower.min(lanes);
+                    upper = upper.max(lanes);
+                }
+                blockMin = lower.reduceLanes(VectorOperators.MIN);
+                blockMax = upper.reduceLanes(VectorOperators.MAX);
+            }
+            for (; i < end; i++) {
+                blockMin = Math.min(blockMin, prices[i]);
+                blockMax = Math.max(blockMax, prices[i]);
+            }
+            mins[block] = blockMin;
+            maxs[block] = blockMax;
+        }
+    }
+}